@@ -0,0 +1,61 @@
+package algorithm.sort;
+
+import java.util.Random;
+
+/**
+ * shapes of benchmark input
+ */
+public enum Distribution {
+
+    RANDOM {
+        @Override
+        int value(int index, int size, Random random) {
+            return random.nextInt();
+        }
+    },
+
+    SORTED {
+        @Override
+        int value(int index, int size, Random random) {
+            return index;
+        }
+    },
+
+    REVERSED {
+        @Override
+        int value(int index, int size, Random random) {
+            return size - index;
+        }
+    },
+
+    /**
+     * only a handful of distinct keys
+     */
+    FEW_UNIQUE {
+        @Override
+        int value(int index, int size, Random random) {
+            return random.nextInt(8);
+        }
+    },
+
+    /**
+     * ascending first half, descending second half
+     */
+    ORGAN_PIPE {
+        @Override
+        int value(int index, int size, Random random) {
+            return Math.min(index, size - index);
+        }
+    };
+
+    abstract int value(int index, int size, Random random);
+
+    public Integer[] generate(int size, long seed) {
+        Random random = new Random(seed);
+        Integer[] array = new Integer[size];
+        for(int i = 0; i < size; i++) {
+            array[i] = value(i, size, random);
+        }
+        return array;
+    }
+}
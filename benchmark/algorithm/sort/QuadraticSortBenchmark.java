@@ -0,0 +1,87 @@
+package algorithm.sort;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * throughput of sorters that are N * N on some distribution
+ * insertion and selection are N * N on random input,
+ * quick and quick 3 way pivot on first element and are N * N
+ * with N deep recursion on sorted input,
+ * so input size is kept small
+ * run main to report allocation rate through the gc profiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xss64m")
+@State(Scope.Thread)
+public class QuadraticSortBenchmark {
+
+    private static final Comparator<Integer> COMPARATOR = Integer::compareTo;
+
+    @Param({"100", "1000", "10000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private Integer[] source;
+    private Integer[] array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, SortBenchmark.SEED);
+        array = new Integer[size];
+    }
+
+    private Integer[] input() {
+        System.arraycopy(source, 0, array, 0, size);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] insertion() {
+        Integer[] array = input();
+        Insertion.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] selection() {
+        Integer[] array = input();
+        Selection.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] quick() {
+        Integer[] array = input();
+        Quick.sort(array);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] quick3Way() {
+        Integer[] array = input();
+        Quick3Way.sort(array);
+        return array;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                // include is a regex, anchor it so other classes ending in this name do not match
+                .include("^" + Pattern.quote(QuadraticSortBenchmark.class.getName()) + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,48 @@
+package algorithm.sort;
+
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * benchmark record, sorted by key,
+ * sequence is the original position and is used to check stability
+ */
+public final class Record {
+
+    public static final Comparator<Record> BY_KEY = (a, b) -> Integer.compare(a.key, b.key);
+
+    public final int key;
+    public final int sequence;
+
+    public Record(int key, int sequence) {
+        this.key = key;
+        this.sequence = sequence;
+    }
+
+    /**
+     * @param keys number of distinct keys
+     */
+    public static Record[] generate(int size, int keys, Random random) {
+        Record[] records = new Record[size];
+        for(int i = 0; i < size; i++) {
+            records[i] = new Record(random.nextInt(keys), i);
+        }
+        return records;
+    }
+
+    /**
+     * @return index of the first record out of key order or out of original order
+     *         among equal keys, -1 if records are sorted stably
+     */
+    public static int violation(Record[] records) {
+        for(int i = 1; i < records.length; i++) {
+            Record previous = records[i - 1];
+            Record current = records[i];
+            if(previous.key > current.key
+                    || (previous.key == current.key && previous.sequence > current.sequence)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
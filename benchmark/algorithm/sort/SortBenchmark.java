@@ -0,0 +1,107 @@
+package algorithm.sort;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * throughput of N * log(N) sorters over every input distribution
+ * input is copied from a pre generated source before each sort,
+ * the copy is the same for every sorter
+ * run main to report allocation rate through the gc profiler
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    public static final long SEED = 42;
+    private static final Comparator<Integer> COMPARATOR = Integer::compareTo;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    @Param
+    public Distribution distribution;
+
+    private Integer[] source;
+    private Integer[] array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = distribution.generate(size, SEED);
+        array = new Integer[size];
+    }
+
+    private Integer[] input() {
+        System.arraycopy(source, 0, array, 0, size);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] merge() {
+        Integer[] array = input();
+        Merge.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] mergeBU() {
+        Integer[] array = input();
+        MergeBU.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] shell() {
+        Integer[] array = input();
+        Shell.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] heap() {
+        Integer[] array = input();
+        Heap.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] intro() {
+        Integer[] array = input();
+        Intro.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] naturalMerge() {
+        Integer[] array = input();
+        NaturalMerge.sort(array, COMPARATOR);
+        return array;
+    }
+
+    @Benchmark
+    public Integer[] parallelMerge() {
+        Integer[] array = input();
+        ParallelMerge.sort(array, COMPARATOR);
+        return array;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                // include is a regex, anchor it so other classes ending in this name do not match
+                .include("^" + Pattern.quote(SortBenchmark.class.getName()) + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,89 @@
+package algorithm.sort;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * verify every stable sorter under load
+ * one worker per processor keeps sorting random records of random size
+ * and key count, and checks that equal keys keep their original order
+ * parallel sorters share the common pool with the workers,
+ * so they are checked while the machine is busy
+ *
+ * usage: StabilityHarness [seconds]
+ * exit code is 1 if any violation is found
+ */
+public class StabilityHarness {
+
+    public static final int MAX_SIZE = 1 << 18;
+    public static final int INSERTION_MAX_SIZE = 1 << 12;
+
+    public static void main(String[] args) throws InterruptedException {
+        long seconds = args.length > 0 ? Long.parseLong(args[0]) : 30;
+
+        Map<String, BiConsumer<Record[], Comparator<Record>>> sorters = new LinkedHashMap<>();
+        sorters.put("Sort.stableSort", Sort::stableSort);
+        sorters.put("Sort.sort", Sort::sort);
+        sorters.put("Insertion", Insertion::sort);
+        sorters.put("Merge", Merge::sort);
+        sorters.put("MergeBU", MergeBU::sort);
+        sorters.put("NaturalMerge", NaturalMerge::sort);
+        sorters.put("ParallelMerge", ParallelMerge::sort);
+        sorters.put("Radix", (array, comparator) -> Radix.sort(array, record -> record.key));
+        sorters.put("KeySort", (array, comparator) -> KeySort.sortByLong(array, record -> record.key));
+
+        Map<String, AtomicLong> passed = new LinkedHashMap<>();
+        Map<String, AtomicLong> failed = new LinkedHashMap<>();
+        sorters.keySet().forEach(name -> {
+            passed.put(name, new AtomicLong());
+            failed.put(name, new AtomicLong());
+        });
+
+        int workers = Runtime.getRuntime().availableProcessors();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        for(int i = 0; i < workers; i++) {
+            executor.execute(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    // log uniform, so small and large arrays are equally common
+                    int size = random.nextInt(1 << random.nextInt(Integer.numberOfTrailingZeros(MAX_SIZE) + 1));
+                    int keys = 1 + random.nextInt(random.nextBoolean() ? 16 : size + 1);
+                    Record[] source = Record.generate(size, keys, random);
+                    sorters.forEach((name, sorter) -> {
+                        if(size > INSERTION_MAX_SIZE && name.equals("Insertion")) {
+                            // N * N, too slow for large input
+                            return;
+                        }
+                        Record[] array = source.clone();
+                        sorter.accept(array, Record.BY_KEY);
+                        int violation = Record.violation(array);
+                        if(violation < 0) {
+                            passed.get(name).incrementAndGet();
+                        } else {
+                            failed.get(name).incrementAndGet();
+                            System.err.println(name + " violation at " + violation
+                                    + ", size: " + size + ", keys: " + keys);
+                        }
+                    });
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+
+        boolean ok = true;
+        for(String name : sorters.keySet()) {
+            System.out.println(name + ": passed " + passed.get(name) + ", failed " + failed.get(name));
+            ok &= failed.get(name).get() == 0;
+        }
+        System.exit(ok ? 0 : 1);
+    }
+}
@@ -0,0 +1,67 @@
+package algorithm.sort;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * stable path against unstable path on records with many equal keys
+ * Sort.stableSort is expected to stay within 10% of Intro
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class StableSortBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"4", "64", "1024"})
+    public int keys;
+
+    private Record[] source;
+    private Record[] array;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        source = Record.generate(size, keys, new Random(SortBenchmark.SEED));
+        array = new Record[size];
+    }
+
+    private Record[] input() {
+        System.arraycopy(source, 0, array, 0, size);
+        return array;
+    }
+
+    @Benchmark
+    public Record[] stable() {
+        Record[] array = input();
+        Sort.stableSort(array, Record.BY_KEY);
+        return array;
+    }
+
+    @Benchmark
+    public Record[] unstable() {
+        Record[] array = input();
+        Intro.sort(array, Record.BY_KEY);
+        return array;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                // include is a regex, anchor it so other classes ending in this name do not match
+                .include("^" + Pattern.quote(StableSortBenchmark.class.getName()) + "\\.")
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -1,48 +1,82 @@
 package algorithm.search;
 
-import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * using hash table to search data index
+ * table has slots() slots, an empty slot holds null
+ * data is searched from its home slot index(hash(data)),
+ * every conflict moves to the slot given by conflict(index, hashCode),
+ * an empty slot ends the search
  * @param <Data>
  */
 public interface HashSearchable<Data> {
 
-    public int size();
+    /**
+     * number of slots in hash table
+     * @return number of slots
+     */
+    public int slots();
 
-    public int element(int index);
+    /**
+     * data stored in slot
+     * @param index index of slot
+     * @return data in slot, null if slot is empty
+     */
+    public Data element(int index);
 
     /**
      * resolve conflict at index
+     * linear probing by default
      * @param index index where conflict occurs
      * @param hashCode hashCode of data
      * @return next index
      */
-    public int conflict(int index, int hashCode);
+    default int conflict(int index, int hashCode) {
+        return index + 1 == slots() ? 0 : index + 1;
+    }
 
+    /**
+     * search slot of data
+     * @param data data to be searched for
+     * @return index of slot holding data if data is found,
+     *         else -1 - index of the empty slot where data can be inserted,
+     *         -1 - slots() if data is not found and there is no empty slot
+     */
     default int hashSearch(Data data) {
-        int hashCode = data.hashCode();
-        int index = index(data.hashCode());
-        if(Objects.equals(element(index), data)) {
-            return index;
-        }
-
-        while (!Objects.equals(element((index = conflict(index, hashCode))), data)) {
-            // do nothing
+        int hashCode = hash(data);
+        int index = index(hashCode);
+        for(int probe = 0; probe < slots(); probe++) {
+            Data item = element(index);
+            if(item == null) {
+                return -1 - index;
+            }
+            if(Objects.equals(item, data)) {
+                return index;
+            }
+            index = conflict(index, hashCode);
         }
+        return -1 - slots();
+    }
 
-        return index;
+    /**
+     * hash code of data
+     * high bits are mixed into low bits, so that tables indexed by
+     * low bits do not depend only on low bits of hashCode
+     * @param data data to be hashed
+     * @return hash code
+     */
+    default int hash(Data data) {
+        int hashCode = data.hashCode();
+        return hashCode ^ (hashCode >>> 16);
     }
 
     /**
      * Obtain index from hashcode
      * @param hashCode hashcode of element
-     * @return index of element
+     * @return index of element, never negative
      */
     default int index(int hashCode) {
-        return hashCode % size();
+        return Math.floorMod(hashCode, slots());
     }
 }
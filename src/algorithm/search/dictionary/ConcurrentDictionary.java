@@ -0,0 +1,368 @@
+package algorithm.search.dictionary;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+/**
+ * a lock striped thread safe dictionary
+ * keys are spread over a power of two number of stripes,
+ * every stripe is a HashDictionary guarded by its own read write lock,
+ * so threads writing different stripes never wait for each other,
+ * and readers of a stripe only wait for its writers, not for other readers
+ *
+ * every single key operation, compute included, holds the lock
+ * of its stripe for the whole operation, so it is atomic
+ * size and iteration visit stripes one by one, they are weakly consistent,
+ * they never throw ConcurrentModificationException and reflect each stripe
+ * as it was when that stripe was visited
+ *
+ * every lock acquisition is counted, an acquisition that had to wait for
+ * another thread is counted as contended, see metrics()
+ *
+ * @param <Key> type of key
+ * @param <Value> type of value
+ */
+public class ConcurrentDictionary<Key, Value> implements Dictionary<Key, Value> {
+
+    protected static final int MAXIMUM_STRIPES = 1 << 16;
+
+    protected final Stripe<Key, Value>[] stripes;
+    protected final int mask;
+
+    /**
+     * 4 stripes per processor
+     */
+    public ConcurrentDictionary() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    @SuppressWarnings("unchecked")
+    public ConcurrentDictionary(int concurrency) {
+        if(concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must >= 1, concurrency: " + concurrency);
+        }
+        // smallest power of two >= concurrency
+        int count = Math.max(1, Integer.highestOneBit(Math.min(concurrency, MAXIMUM_STRIPES) - 1) << 1);
+        stripes = (Stripe<Key, Value>[]) new Stripe<?, ?>[count];
+        for(int i = 0; i < count; i++) {
+            stripes[i] = new Stripe<>();
+        }
+        mask = count - 1;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for(Stripe<Key, Value> stripe : stripes) {
+            Lock lock = stripe.read();
+            try {
+                size += stripe.dictionary.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int capacity() {
+        int capacity = 0;
+        for(Stripe<Key, Value> stripe : stripes) {
+            Lock lock = stripe.read();
+            try {
+                capacity += stripe.dictionary.capacity();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return capacity;
+    }
+
+    @Override
+    public void clear() {
+        for(Stripe<Key, Value> stripe : stripes) {
+            Lock lock = stripe.write();
+            try {
+                stripe.dictionary.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Value remove(Key key) {
+        Stripe<Key, Value> stripe = stripe(key);
+        Lock lock = stripe.write();
+        try {
+            return stripe.dictionary.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Value put(Key key, Value value) {
+        Stripe<Key, Value> stripe = stripe(key);
+        Lock lock = stripe.write();
+        try {
+            return stripe.dictionary.put(key, value);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * atomic, remapping runs while the stripe of key is locked,
+     * so it should be short and must not touch this dictionary
+     */
+    @Override
+    public Value compute(Key key, BiFunction<Key, Value, Value> remapping) {
+        Stripe<Key, Value> stripe = stripe(key);
+        Lock lock = stripe.write();
+        try {
+            return stripe.dictionary.compute(key, remapping);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Value get(Key key) {
+        Stripe<Key, Value> stripe = stripe(key);
+        Lock lock = stripe.read();
+        try {
+            return stripe.dictionary.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        Stripe<Key, Value> stripe = stripe(key);
+        Lock lock = stripe.read();
+        try {
+            return stripe.dictionary.contains(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Iterator<Key> keys() {
+        Iterator<Pair<Key, Value>> entries = entries();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public Key next() {
+                return entries.next().key();
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Pair<Key, Value>> entries() {
+        return new PairIterator();
+    }
+
+    @Override
+    public Iterator<Pair<Key, Value>> iterator() {
+        return new PairIterator();
+    }
+
+    /**
+     * snapshot of lock statistics since creation
+     */
+    public Metrics metrics() {
+        long[] acquisitions = new long[stripes.length];
+        long[] contended = new long[stripes.length];
+        for(int i = 0; i < stripes.length; i++) {
+            acquisitions[i] = stripes[i].acquisitions.sum();
+            contended[i] = stripes[i].contended.sum();
+        }
+        return new Metrics(acquisitions, contended);
+    }
+
+    /* private methods */
+
+    /**
+     * murmur3 finalizer, stripes must not depend on the same bits
+     * HashDictionary uses to pick a slot inside a stripe
+     */
+    private Stripe<Key, Value> stripe(Key key) {
+        int h = Objects.requireNonNull(key).hashCode();
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return stripes[h & mask];
+    }
+
+    protected static class Stripe<Key, Value> {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final HashDictionary<Key, Value> dictionary = new HashDictionary<>();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+
+        /**
+         * shared lock, for operations that do not modify dictionary
+         * @return lock to be released
+         */
+        Lock read() {
+            return acquire(lock.readLock());
+        }
+
+        /**
+         * exclusive lock, for operations that modify dictionary
+         * @return lock to be released
+         */
+        Lock write() {
+            return acquire(lock.writeLock());
+        }
+
+        private Lock acquire(Lock lock) {
+            if(!lock.tryLock()) {
+                contended.increment();
+                lock.lock();
+            }
+            acquisitions.increment();
+            return lock;
+        }
+
+        /**
+         * copy of entries, taken under lock
+         */
+        List<Pair<Key, Value>> snapshot() {
+            Lock lock = read();
+            try {
+                List<Pair<Key, Value>> pairs = new ArrayList<>(dictionary.size());
+                dictionary.forEach(pairs::add);
+                return pairs;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * lock statistics of every stripe
+     */
+    public static class Metrics {
+        private final long[] acquisitions;
+        private final long[] contended;
+
+        Metrics(long[] acquisitions, long[] contended) {
+            this.acquisitions = acquisitions;
+            this.contended = contended;
+        }
+
+        public int stripes() {
+            return acquisitions.length;
+        }
+
+        public long acquisitions() {
+            return Arrays.stream(acquisitions).sum();
+        }
+
+        public long contended() {
+            return Arrays.stream(contended).sum();
+        }
+
+        public long acquisitions(int stripe) {
+            return acquisitions[stripe];
+        }
+
+        public long contended(int stripe) {
+            return contended[stripe];
+        }
+
+        /**
+         * @return ratio of acquisitions that had to wait, 0 if there is none
+         */
+        public double contention() {
+            long acquisitions = acquisitions();
+            return acquisitions == 0 ? 0 : (double) contended() / acquisitions;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "stripes=" + stripes() +
+                    ", acquisitions=" + acquisitions() +
+                    ", contended=" + contended() +
+                    ", contention=" + contention() +
+                    '}';
+        }
+    }
+
+    /**
+     * weakly consistent, each stripe is copied when the iterator reaches it
+     */
+    private class PairIterator implements Iterator<Pair<Key, Value>> {
+        int stripe = 0;
+        Iterator<Pair<Key, Value>> current = Collections.emptyIterator();
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && stripe < stripes.length) {
+                current = stripes[stripe++].snapshot().iterator();
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public Pair<Key, Value> next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+    }
+
+    private static class Test {
+
+        public static void main(String[] args) throws InterruptedException {
+            testConcurrentCounter(32, 100000);
+        }
+
+        static void testConcurrentCounter(int threads, int iteration) throws InterruptedException {
+            System.out.println("Concurrent Counter Test...");
+            ConcurrentDictionary<Integer, Integer> dictionary = new ConcurrentDictionary<>();
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for(int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    for(int i = 0; i < iteration; i++) {
+                        dictionary.compute(i % 1000, (k, v) -> v == null ? 1 : v + 1);
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+
+            boolean result = dictionary.size() == 1000;
+            for(Pair<Integer, Integer> pair : dictionary) {
+                result &= pair.value() == threads * iteration / 1000;
+            }
+            System.out.println(dictionary.metrics());
+            System.out.println("Concurrent Counter Test Result: " + result);
+            assert result : "Concurrent Counter Test Failed.";
+        }
+    }
+}
@@ -107,6 +107,7 @@ public interface Dictionary<Key, Value> extends Iterable<Dictionary.Pair<Key, Va
     /**
      * an immutable from outside package class
      * represent a key and value pair
+     * can be created anywhere, so pairs can be fed to bulk operations
      * @param <Key> type
      * @param <Value> value type
      */
@@ -114,7 +115,7 @@ public interface Dictionary<Key, Value> extends Iterable<Dictionary.Pair<Key, Va
         protected Key key;
         protected Value value;
 
-        protected Pair(Key key, Value value) {
+        public Pair(Key key, Value value) {
             this.key = key;
             this.value = value;
         }
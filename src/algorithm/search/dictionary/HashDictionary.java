@@ -0,0 +1,379 @@
+package algorithm.search.dictionary;
+
+import algorithm.search.HashSearchable;
+
+import java.util.*;
+import java.util.function.BiFunction;
+
+/**
+ * an open addressing hash table implementation of dictionary
+ * keys, values and hash codes are kept in parallel arrays
+ * table length is a power of two, home slot of a key is taken from
+ * the high bits of its hash code multiplied by the golden ratio,
+ * conflicts are resolved by linear probing
+ *
+ * removal does not leave tombstones, following keys of the same
+ * probe sequence are shifted back into the hole instead,
+ * so searches never walk over deleted slots
+ *
+ * table doubles when size exceeds capacity * load factor
+ * null keys are not allowed
+ *
+ * @param <Key> type of key
+ * @param <Value> type of value
+ */
+public class HashDictionary<Key, Value> implements Dictionary<Key, Value>, HashSearchable<Key> {
+
+    protected static final int INITIAL_CAPACITY = 16;
+    protected static final int MAXIMUM_CAPACITY = 1 << 30;
+    protected static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    // 2^32 / golden ratio
+    private static final int GOLDEN = 0x9E3779B9;
+
+    protected int size;
+    protected Object[] keys;
+    protected Object[] values;
+    protected int[] hashes;
+    protected int shift;
+    protected int threshold;
+    protected final float loadFactor;
+
+    public HashDictionary() {
+        this(INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public HashDictionary(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of keys that fit without growing
+     * @param loadFactor maximum ratio of size to table length, in (0, 1)
+     */
+    public HashDictionary(int initialCapacity, float loadFactor) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must >= 0, initial capacity: " + initialCapacity);
+        }
+        if(!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("load factor must in (0, 1), load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(initialCapacity / (double) loadFactor))));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int capacity() {
+        return keys.length;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @Override
+    public Value remove(Key key) {
+        Objects.requireNonNull(key);
+        int index = hashSearch(key);
+        if(index < 0) {
+            return null;
+        }
+        return removeAt(index);
+    }
+
+    @Override
+    public Value put(Key key, Value value) {
+        Objects.requireNonNull(key);
+        int index = hashSearch(key);
+        if(index >= 0) {
+            Value old = valueAt(index);
+            values[index] = value;
+            return old;
+        }
+        insert(key, value, -1 - index);
+        return null;
+    }
+
+    @Override
+    public Value compute(Key key, BiFunction<Key, Value, Value> remapping) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(remapping);
+        int index = hashSearch(key);
+        Value value = remapping.apply(key, index >= 0 ? valueAt(index) : null);
+        if(value != null) {
+            if(index >= 0) {
+                values[index] = value;
+            } else {
+                insert(key, value, -1 - index);
+            }
+        } else if(index >= 0) {
+            // delete key
+            removeAt(index);
+        }
+        return value;
+    }
+
+    @Override
+    public Value get(Key key) {
+        Objects.requireNonNull(key);
+        int index = hashSearch(key);
+        return index < 0 ? null : valueAt(index);
+    }
+
+    @Override
+    public boolean contains(Key key) {
+        Objects.requireNonNull(key);
+        return hashSearch(key) >= 0;
+    }
+
+    @Override
+    public Iterator<Key> keys() {
+        return new KeyIterator();
+    }
+
+    @Override
+    public Iterator<Pair<Key, Value>> entries() {
+        return new PairIterator();
+    }
+
+    @Override
+    public Iterator<Pair<Key, Value>> iterator() {
+        return new PairIterator();
+    }
+
+    /* methods from hash searchable */
+
+    @Override
+    public int slots() {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Key element(int index) {
+        return (Key) keys[index];
+    }
+
+    @Override
+    public int conflict(int index, int hashCode) {
+        return (index + 1) & (keys.length - 1);
+    }
+
+    /**
+     * hash code is compared before equals, so most mismatches cost no equals call
+     */
+    @Override
+    public int hashSearch(Key key) {
+        int hashCode = hash(key);
+        int mask = keys.length - 1;
+        for(int index = index(hashCode); ; index = (index + 1) & mask) {
+            Object item = keys[index];
+            if(item == null) {
+                return -1 - index;
+            }
+            if(hashes[index] == hashCode && item.equals(key)) {
+                return index;
+            }
+        }
+    }
+
+    @Override
+    public int hash(Key key) {
+        return key.hashCode();
+    }
+
+    /**
+     * fibonacci hashing, high bits of hashCode * 2^32 / golden ratio
+     */
+    @Override
+    public int index(int hashCode) {
+        return (hashCode * GOLDEN) >>> shift;
+    }
+
+    /* private methods */
+
+    @SuppressWarnings("unchecked")
+    private Value valueAt(int index) {
+        return (Value) values[index];
+    }
+
+    private void insert(Key key, Value value, int index) {
+        if(size >= threshold) {
+            resize(keys.length << 1);
+            index = -1 - hashSearch(key);
+        }
+        keys[index] = key;
+        values[index] = value;
+        hashes[index] = hash(key);
+        size++;
+    }
+
+    /**
+     * backward shift deletion
+     * keys after the hole that are allowed to live in the hole are moved into it,
+     * until an empty slot ends the probe sequence
+     */
+    private Value removeAt(int index) {
+        Value old = valueAt(index);
+        int mask = keys.length - 1;
+        int hole = index;
+        for(int i = (index + 1) & mask; keys[i] != null; i = (i + 1) & mask) {
+            int home = index(hashes[i]);
+            // key at i may move to hole if hole lies between home and i
+            if(((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hashes[hole] = hashes[i];
+                hole = i;
+            }
+        }
+        keys[hole] = null;
+        values[hole] = null;
+        size--;
+        return old;
+    }
+
+    private void resize(int capacity) {
+        if(keys.length == MAXIMUM_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        Object[] oldKeys = keys;
+        Object[] oldValues = values;
+        int[] oldHashes = hashes;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] == null) {
+                continue;
+            }
+            int index = index(oldHashes[i]);
+            while (keys[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+            hashes[index] = oldHashes[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new Object[capacity];
+        values = new Object[capacity];
+        hashes = new int[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        // keep at least one empty slot, so every probe sequence ends
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * smallest power of two >= capacity, at least 2
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(1, capacity - 1));
+        return Math.max(2, Math.min(MAXIMUM_CAPACITY, n + 1));
+    }
+
+    private abstract class SlotIterator<E> implements Iterator<E> {
+        int index = advance(0);
+
+        private int advance(int from) {
+            while (from < keys.length && keys[from] == null) {
+                from++;
+            }
+            return from;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < keys.length;
+        }
+
+        int nextIndex() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int current = index;
+            index = advance(index + 1);
+            return current;
+        }
+    }
+
+    private class KeyIterator extends SlotIterator<Key> {
+        @Override
+        public Key next() {
+            return element(nextIndex());
+        }
+    }
+
+    private class PairIterator extends SlotIterator<Pair<Key, Value>> {
+        @Override
+        public Pair<Key, Value> next() {
+            int index = nextIndex();
+            return new Pair<>(element(index), valueAt(index));
+        }
+    }
+
+    private static class Test {
+
+        public static void main(String[] args) {
+            testFrequencyCounter(100);
+            testRandom(1000000);
+        }
+
+        static void testFrequencyCounter(int iteration) {
+            System.out.println("Frequency Counter Test Case...");
+            Random random = new Random(0);
+            int[] frequencies = new int[20];
+            Dictionary<Integer, Integer> dictionary = new HashDictionary<>();
+            int count = 0;
+            while (count++ < iteration) {
+                int key = random.nextInt(20);
+                frequencies[key] += 1;
+                dictionary.compute(key, (k, v) -> v == null ? 1 : v + 1);
+            }
+            boolean result = true;
+            for (int i = 0; i < frequencies.length; i++) {
+                if(dictionary.get(i) != frequencies[i]) {
+                    result = false;
+                }
+            }
+            dictionary.forEach(System.out::println);
+            System.out.println("Frequency Counter Test Result: " + result);
+            assert result : "Frequency Counter Test Failed.";
+        }
+
+        static void testRandom(int iteration) {
+            System.out.println("Random Put Remove Test...");
+            Random random = new Random(0);
+            Dictionary<Integer, Integer> dictionary = new HashDictionary<>(0, 0.75f);
+            Map<Integer, Integer> map = new HashMap<>();
+            boolean result = true;
+            for(int i = 0; i < iteration; i++) {
+                int key = random.nextInt(iteration / 10);
+                if(random.nextInt(3) == 0) {
+                    result &= Objects.equals(dictionary.remove(key), map.remove(key));
+                } else {
+                    result &= Objects.equals(dictionary.put(key, i), map.put(key, i));
+                }
+            }
+            for(Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                result &= entry.getValue().equals(dictionary.get(entry.getKey()));
+            }
+            result &= dictionary.size() == map.size();
+            System.out.println("Random Put Remove Test Result: " + result);
+            assert result : "Random Put Remove Test Failed.";
+        }
+    }
+}
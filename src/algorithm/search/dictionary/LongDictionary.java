@@ -0,0 +1,346 @@
+package algorithm.search.dictionary;
+
+import java.util.*;
+
+/**
+ * an open addressing hash table dictionary with primitive long keys
+ * keys live in a long array and values in a parallel array,
+ * there is no Pair object and no boxing per entry
+ * key 0 marks an empty slot, so key 0 itself is kept outside the table
+ * probing and removal work like HashDictionary,
+ * linear probing and backward shift deletion without tombstones
+ *
+ * @param <Value> type of value
+ */
+public class LongDictionary<Value> {
+
+    protected static final int INITIAL_CAPACITY = 16;
+    protected static final int MAXIMUM_CAPACITY = 1 << 30;
+    protected static final float DEFAULT_LOAD_FACTOR = 0.5f;
+    // 2^64 / golden ratio
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+    private static final long EMPTY = 0;
+
+    protected int size;
+    protected long[] keys;
+    protected Object[] values;
+    protected boolean hasEmptyKey;
+    protected Object emptyKeyValue;
+    protected int shift;
+    protected int threshold;
+    protected final float loadFactor;
+
+    /**
+     * remap value of a key, null means remove the key
+     */
+    @FunctionalInterface
+    public interface Remapping<Value> {
+        Value apply(long key, Value value);
+    }
+
+    @FunctionalInterface
+    public interface Visitor<Value> {
+        void visit(long key, Value value);
+    }
+
+    public LongDictionary() {
+        this(INITIAL_CAPACITY, DEFAULT_LOAD_FACTOR);
+    }
+
+    public LongDictionary(int initialCapacity) {
+        this(initialCapacity, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * @param initialCapacity number of keys that fit without growing
+     * @param loadFactor maximum ratio of size to table length, in (0, 1)
+     */
+    public LongDictionary(int initialCapacity, float loadFactor) {
+        if(initialCapacity < 0) {
+            throw new IllegalArgumentException("initial capacity must >= 0, initial capacity: " + initialCapacity);
+        }
+        if(!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("load factor must in (0, 1), load factor: " + loadFactor);
+        }
+        this.loadFactor = loadFactor;
+        allocate(tableSizeFor((int) Math.min(MAXIMUM_CAPACITY, Math.ceil(initialCapacity / (double) loadFactor))));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, null);
+        hasEmptyKey = false;
+        emptyKeyValue = null;
+        size = 0;
+    }
+
+    public Value get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Value getOrDefault(long key, Value defaultValue) {
+        if(key == EMPTY) {
+            return hasEmptyKey ? (Value) emptyKeyValue : defaultValue;
+        }
+        int index = search(key);
+        return index < 0 ? defaultValue : (Value) values[index];
+    }
+
+    public boolean contains(long key) {
+        return key == EMPTY ? hasEmptyKey : search(key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Value put(long key, Value value) {
+        if(key == EMPTY) {
+            Value old = (Value) emptyKeyValue;
+            if(!hasEmptyKey) {
+                hasEmptyKey = true;
+                size++;
+            }
+            emptyKeyValue = value;
+            return old;
+        }
+        int index = search(key);
+        if(index >= 0) {
+            Value old = (Value) values[index];
+            values[index] = value;
+            return old;
+        }
+        insert(key, value, -1 - index);
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Value remove(long key) {
+        if(key == EMPTY) {
+            Value old = (Value) emptyKeyValue;
+            if(hasEmptyKey) {
+                hasEmptyKey = false;
+                emptyKeyValue = null;
+                size--;
+            }
+            return old;
+        }
+        int index = search(key);
+        if(index < 0) {
+            return null;
+        }
+        Value old = (Value) values[index];
+        removeAt(index);
+        return old;
+    }
+
+    /**
+     * value = remapping(key, current value or null),
+     * null value removes the key
+     * @return new value
+     */
+    @SuppressWarnings("unchecked")
+    public Value compute(long key, Remapping<Value> remapping) {
+        Objects.requireNonNull(remapping);
+        if(key == EMPTY) {
+            Value value = remapping.apply(key, hasEmptyKey ? (Value) emptyKeyValue : null);
+            if(value != null) {
+                put(key, value);
+            } else {
+                remove(key);
+            }
+            return value;
+        }
+        int index = search(key);
+        Value value = remapping.apply(key, index >= 0 ? (Value) values[index] : null);
+        if(value != null) {
+            if(index >= 0) {
+                values[index] = value;
+            } else {
+                insert(key, value, -1 - index);
+            }
+        } else if(index >= 0) {
+            // delete key
+            removeAt(index);
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super Value> visitor) {
+        if(hasEmptyKey) {
+            visitor.visit(EMPTY, (Value) emptyKeyValue);
+        }
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != EMPTY) {
+                visitor.visit(keys[i], (Value) values[i]);
+            }
+        }
+    }
+
+    public PrimitiveIterator.OfLong keys() {
+        return new PrimitiveIterator.OfLong() {
+            // -1 stands for the empty key
+            int index = hasEmptyKey ? -1 : advance(0);
+
+            private int advance(int from) {
+                while (from < keys.length && keys[from] == EMPTY) {
+                    from++;
+                }
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return index < keys.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if(!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int current = index;
+                index = advance(index + 1);
+                return current < 0 ? EMPTY : keys[current];
+            }
+        };
+    }
+
+    /* private methods */
+
+    private int index(long key) {
+        return (int) ((key * GOLDEN) >>> shift);
+    }
+
+    /**
+     * @return index of key, or -1 - index of the empty slot ending its probe sequence
+     */
+    private int search(long key) {
+        int mask = keys.length - 1;
+        for(int index = index(key); ; index = (index + 1) & mask) {
+            long item = keys[index];
+            if(item == key) {
+                return index;
+            }
+            if(item == EMPTY) {
+                return -1 - index;
+            }
+        }
+    }
+
+    private void insert(long key, Value value, int index) {
+        // size includes the empty key, which takes no slot
+        if(size - (hasEmptyKey ? 1 : 0) >= threshold) {
+            resize(keys.length << 1);
+            index = -1 - search(key);
+        }
+        keys[index] = key;
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * backward shift deletion, same as HashDictionary
+     */
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int hole = index;
+        for(int i = (index + 1) & mask; keys[i] != EMPTY; i = (i + 1) & mask) {
+            int home = index(keys[i]);
+            // key at i may move to hole if hole lies between home and i
+            if(((i - home) & mask) >= ((i - hole) & mask)) {
+                keys[hole] = keys[i];
+                values[hole] = values[i];
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        if(keys.length == MAXIMUM_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int index = index(oldKeys[i]);
+            while (keys[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        // keep at least one empty slot, so every probe sequence ends
+        threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+    }
+
+    /**
+     * smallest power of two >= capacity, at least 2
+     */
+    private static int tableSizeFor(int capacity) {
+        int n = -1 >>> Integer.numberOfLeadingZeros(Math.max(1, capacity - 1));
+        return Math.max(2, Math.min(MAXIMUM_CAPACITY, n + 1));
+    }
+
+    private static class Test {
+
+        public static void main(String[] args) {
+            testRandom(1000000);
+        }
+
+        static void testRandom(int iteration) {
+            System.out.println("Random Put Remove Test...");
+            Random random = new Random(0);
+            LongDictionary<Integer> dictionary = new LongDictionary<>();
+            Map<Long, Integer> map = new HashMap<>();
+            boolean result = true;
+            for(int i = 0; i < iteration; i++) {
+                long key = (random.nextInt(iteration / 10) - iteration / 20) * (1L << 33);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        result &= Objects.equals(dictionary.remove(key), map.remove(key));
+                        break;
+                    case 1:
+                        result &= Objects.equals(dictionary.compute(key, (k, v) -> v == null ? 1 : v + 1),
+                                map.merge(key, 1, Integer::sum));
+                        break;
+                    default:
+                        result &= Objects.equals(dictionary.put(key, i), map.put(key, i));
+                }
+            }
+            int[] count = new int[1];
+            dictionary.forEach((key, value) -> count[0]++);
+            for(Map.Entry<Long, Integer> entry : map.entrySet()) {
+                result &= entry.getValue().equals(dictionary.get(entry.getKey()));
+            }
+            result &= dictionary.size() == map.size() && count[0] == map.size();
+            System.out.println("Random Put Remove Test Result: " + result);
+            assert result : "Random Put Remove Test Failed.";
+        }
+    }
+}
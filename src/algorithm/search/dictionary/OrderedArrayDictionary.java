@@ -1,6 +1,7 @@
 package algorithm.search.dictionary;
 
 import algorithm.search.RandomAssessable;
+import algorithm.sort.Stable;
 import com.sun.jdi.Value;
 
 import java.security.KeyPair;
@@ -123,7 +124,7 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
             return false;
         }
 
-        return binarySearch(key, 0, size - 1) > 0;
+        return binarySearch(key, 0, size - 1) >= 0;
     }
 
     @Override
@@ -141,6 +142,130 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
         return new PairIterator();
     }
 
+    /* ordered queries, every one costs one or two binary searches */
+
+    /**
+     * @return largest key <= key, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public Key floor(Key key) {
+        int index = upper(key) - 1;
+        return index < 0 ? null : (Key) elements[index].key;
+    }
+
+    /**
+     * @return smallest key >= key, null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public Key ceiling(Key key) {
+        int index = rank(key);
+        return index == size ? null : (Key) elements[index].key;
+    }
+
+    /**
+     * @return number of keys < key
+     */
+    public int rank(Key key) {
+        if(size == 0) {
+            return 0;
+        }
+        int index = binarySearch(key, 0, size - 1);
+        return index < 0 ? -1 - index : index;
+    }
+
+    /**
+     * @return key of rank index, select(rank(key)) == key for every key in dictionary
+     */
+    @SuppressWarnings("unchecked")
+    public Key select(int index) {
+        if(index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return (Key) elements[index].key;
+    }
+
+    /**
+     * @return number of keys in [low...high]
+     */
+    public int count(Key low, Key high) {
+        if(low.compareTo(high) > 0) {
+            return 0;
+        }
+        return upper(high) - rank(low);
+    }
+
+    /**
+     * pairs with keys in [low...high] in ascending order
+     */
+    public Iterator<Pair<Key, Value>> range(Key low, Key high) {
+        if(low.compareTo(high) > 0) {
+            return new RangeIterator(0, 0);
+        }
+        return new RangeIterator(rank(low), upper(high));
+    }
+
+    /**
+     * merge pairs sorted by key into this dictionary in one pass, O(n + m)
+     * for equal keys the last pair wins, and pairs replace
+     * the pairs of this dictionary with equal keys
+     * @param sorted pairs sorted by key in ascending order
+     * @throws IllegalArgumentException if pairs are not sorted
+     */
+    @SuppressWarnings("unchecked")
+    public void putAll(Iterator<? extends Pair<Key, Value>> sorted) {
+        Pair<Key, Value>[] batch = (Pair<Key, Value>[]) new Pair<?, ?>[INITIAL_CAPACITY];
+        int length = 0;
+        while (sorted.hasNext()) {
+            Pair<Key, Value> pair = sorted.next();
+            int compareResult = length == 0 ? 1 : pair.key.compareTo(batch[length - 1].key);
+            if(compareResult < 0) {
+                throw new IllegalArgumentException("pairs must be sorted, key: " + pair.key
+                        + " follows key: " + batch[length - 1].key);
+            }
+            if(compareResult == 0) {
+                batch[length - 1] = pair;
+                continue;
+            }
+            if(length == batch.length) {
+                if(length == MAXIMUM_CAPACITY) {
+                    throw new OutOfMemoryError();
+                }
+                // grow 1.5 times, like grow
+                batch = Arrays.copyOf(batch, (int) Math.min(MAXIMUM_CAPACITY, length + (long) (length >> 1)));
+            }
+            batch[length++] = pair;
+        }
+        merge(batch, length);
+    }
+
+    /**
+     * put pairs in any order, sorted once by a stable sort,
+     * so for equal keys the last pair wins
+     * O(m * log(m) + n) instead of m binary searches and array shifts
+     */
+    @SuppressWarnings("unchecked")
+    public void bulkLoad(Iterable<? extends Pair<Key, Value>> pairs) {
+        List<Pair<Key, Value>> list = new ArrayList<>();
+        pairs.forEach(list::add);
+        load(list.toArray((Pair<Key, Value>[]) new Pair<?, ?>[0]));
+    }
+
+    /**
+     * put keys[i] -> values[i] in any order, see bulkLoad(Iterable)
+     */
+    @SuppressWarnings("unchecked")
+    public void bulkLoad(Key[] keys, Value[] values) {
+        if(keys.length != values.length) {
+            throw new IllegalArgumentException("keys and values must have same length, keys: "
+                    + keys.length + ", values: " + values.length);
+        }
+        Pair<Key, Value>[] batch = (Pair<Key, Value>[]) new Pair<?, ?>[keys.length];
+        for(int i = 0; i < keys.length; i++) {
+            batch[i] = new Pair<>(Objects.requireNonNull(keys[i]), values[i]);
+        }
+        load(batch);
+    }
+
     /* methods from random accessible */
     @SuppressWarnings("unchecked")
     @Override
@@ -180,7 +305,7 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
                 index,
                 moveSize);
         // gc
-        elements[size--] = null;
+        elements[--size] = null;
         return (Value) pair.value;
     }
 
@@ -195,6 +320,80 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
         size++;
     }
 
+    /**
+     * @return number of keys <= key
+     */
+    private int upper(Key key) {
+        if(size == 0) {
+            return 0;
+        }
+        int index = binarySearch(key, 0, size - 1);
+        return index < 0 ? -1 - index : index + 1;
+    }
+
+    /**
+     * sort batch, drop all but the last of equal keys, then merge
+     */
+    private void load(Pair<Key, Value>[] batch) {
+        Stable.sort(batch, (a, b) -> a.key.compareTo(b.key));
+        int length = 0;
+        for(Pair<Key, Value> pair : batch) {
+            if(length > 0 && pair.key.compareTo(batch[length - 1].key) == 0) {
+                batch[length - 1] = pair;
+            } else {
+                batch[length++] = pair;
+            }
+        }
+        merge(batch, length);
+    }
+
+    /**
+     * merge batch[0...length-1], sorted with distinct keys, into elements
+     * batch wins on equal keys
+     */
+    @SuppressWarnings("unchecked")
+    private void merge(Pair<Key, Value>[] batch, int length) {
+        if(length == 0) {
+            return;
+        }
+        if(size == 0) {
+            // batch is owned by this dictionary, use it as backing array
+            // without pairs left behind by dedupe
+            Arrays.fill(batch, length, batch.length, null);
+            elements = batch;
+            size = length;
+            return;
+        }
+        long total = (long) size + length;
+        if(total > MAXIMUM_CAPACITY) {
+            throw new OutOfMemoryError();
+        }
+        Pair<?, ?>[] merged = new Pair<?, ?>[(int) total];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < length) {
+            int compareResult = ((Key) elements[i].key).compareTo(batch[j].key);
+            if(compareResult < 0) {
+                merged[k++] = elements[i++];
+            } else if(compareResult > 0) {
+                merged[k++] = batch[j++];
+            } else {
+                // replace old pair
+                merged[k++] = batch[j++];
+                i++;
+            }
+        }
+        while (i < size) {
+            merged[k++] = elements[i++];
+        }
+        while (j < length) {
+            merged[k++] = batch[j++];
+        }
+        elements = merged;
+        size = k;
+    }
+
     @SuppressWarnings("unchecked")
     private Value set(Value value, int index) {
         Pair<Key, Value> pair = (Pair<Key, Value>) elements[index];
@@ -322,6 +521,49 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
         }
     }
 
+    /**
+     * pairs of elements[from...to-1]
+     */
+    private class RangeIterator implements Iterator<Pair<Key, Value>> {
+        int index;
+        int end;
+        // index of the pair returned by the last next(), -1 if it is removed
+        int last = -1;
+
+        RangeIterator(int from, int to) {
+            this.index = from;
+            this.end = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < end;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Pair<Key, Value> next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            last = index;
+            return (Pair<Key, Value>) elements[index++];
+        }
+
+        @Override
+        public void remove() {
+            if(last < 0) {
+                throw new IllegalStateException();
+            }
+
+            OrderedArrayDictionary.this.remove(last);
+            index = last;
+            last = -1;
+            end--;
+        }
+    }
+
     private static class Test {
 
         public static void main(String[] args) {
@@ -329,6 +571,8 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
             testRemove(1000);
             testClear(1000);
             testContain(1000);
+            testBulkLoad(100000);
+            testOrderedQuery(10000);
         }
 
         static void testFrequencyCounter(int iteration) {
@@ -426,6 +670,110 @@ public class OrderedArrayDictionary<Key extends Comparable<Key>, Value>
             assert dictionary.isEmpty() : "Put Get Test Failed.";
         }
 
+        static void testBulkLoad(int iteration) {
+            System.out.println("Bulk Load Test...");
+            Random random = new Random(0);
+            OrderedArrayDictionary<Integer, Integer> dictionary = new OrderedArrayDictionary<>();
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            for(int round = 0; round < 4; round++) {
+                Integer[] keys = new Integer[iteration];
+                Integer[] values = new Integer[iteration];
+                for(int i = 0; i < iteration; i++) {
+                    keys[i] = random.nextInt(iteration * 2);
+                    values[i] = round * iteration + i;
+                    map.put(keys[i], values[i]);
+                }
+                dictionary.bulkLoad(keys, values);
+            }
+
+            OrderedArrayDictionary<Integer, Integer> batch = new OrderedArrayDictionary<>();
+            for(int i = 0; i < iteration; i++) {
+                int key = random.nextInt(iteration * 4);
+                batch.put(key, -i);
+                map.put(key, -i);
+            }
+            dictionary.putAll(batch.entries());
+            List<Pair<Integer, Integer>> pairs = new ArrayList<>();
+            for(int i = 0; i < iteration; i++) {
+                int key = random.nextInt(iteration * 4);
+                pairs.add(new Pair<>(key, i));
+                map.put(key, i);
+            }
+            dictionary.bulkLoad(pairs);
+
+            boolean result = dictionary.size() == map.size();
+            Iterator<Pair<Integer, Integer>> entries = dictionary.entries();
+            for(Map.Entry<Integer, Integer> entry : map.entrySet()) {
+                Pair<Integer, Integer> pair = entries.next();
+                result &= entry.getKey().equals(pair.key()) && entry.getValue().equals(pair.value());
+            }
+
+            // loaded array is full, removal must not index past its end
+            // declared as Dictionary, so remove(2) is remove(key), not the private remove(index)
+            OrderedArrayDictionary<Integer, Integer> loaded = new OrderedArrayDictionary<>();
+            loaded.bulkLoad(new Integer[]{3, 1, 2}, new Integer[]{30, 10, 20});
+            Dictionary<Integer, Integer> full = loaded;
+            result &= full.remove(2) == 20 && full.size() == 2 && full.get(3) == 30;
+            System.out.println("Bulk Load Test Result: " + result);
+            assert result : "Bulk Load Test Failed.";
+        }
+
+        static void testOrderedQuery(int iteration) {
+            System.out.println("Ordered Query Test...");
+            Random random = new Random(0);
+            OrderedArrayDictionary<Integer, Integer> dictionary = new OrderedArrayDictionary<>();
+            TreeMap<Integer, Integer> map = new TreeMap<>();
+            boolean result = dictionary.floor(0) == null && dictionary.ceiling(0) == null
+                    && dictionary.rank(0) == 0 && dictionary.count(0, 1) == 0;
+            for(int i = 0; i < iteration; i++) {
+                int key = random.nextInt(iteration * 4);
+                dictionary.put(key, i);
+                map.put(key, i);
+            }
+            for(int i = 0; i < iteration; i++) {
+                int low = random.nextInt(iteration * 4 + 2) - 1;
+                int high = low + random.nextInt(iteration / 10);
+                int rank = map.headMap(low).size();
+                int count = map.subMap(low, true, high, true).size();
+                result &= Objects.equals(dictionary.floor(low), map.floorKey(low));
+                result &= Objects.equals(dictionary.ceiling(low), map.ceilingKey(low));
+                result &= dictionary.rank(low) == rank;
+                result &= rank == dictionary.size() || dictionary.select(rank).equals(map.ceilingKey(low));
+                result &= dictionary.count(low, high) == count;
+                Iterator<Pair<Integer, Integer>> range = dictionary.range(low, high);
+                for(Map.Entry<Integer, Integer> entry : map.subMap(low, true, high, true).entrySet()) {
+                    Pair<Integer, Integer> pair = range.next();
+                    result &= entry.getKey().equals(pair.key()) && entry.getValue().equals(pair.value());
+                }
+                result &= !range.hasNext();
+            }
+
+            // smallest key sits at index 0
+            int minimum = map.firstKey();
+            result &= dictionary.contains(minimum) && !dictionary.contains(minimum - 1);
+
+            // remove through a range iterator touches only keys in the range
+            OrderedArrayDictionary<Integer, Integer> full = new OrderedArrayDictionary<>();
+            for(int i = 0; i < 8; i++) {
+                full.put(i, i);
+            }
+            Iterator<Pair<Integer, Integer>> range = full.range(3, 4);
+            try {
+                range.remove();
+                result = false;
+            } catch (IllegalStateException e) {
+                // nothing returned yet
+            }
+            while (range.hasNext()) {
+                range.next();
+                range.remove();
+            }
+            result &= full.size() == 6 && full.contains(2) && !full.contains(3)
+                    && !full.contains(4) && full.contains(5);
+            System.out.println("Ordered Query Test Result: " + result);
+            assert result : "Ordered Query Test Failed.";
+        }
+
         static void testContain(int iteration) {
             System.out.println("Put Contain Test...");
             Random random = new Random(0);
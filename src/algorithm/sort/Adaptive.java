@@ -0,0 +1,268 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * pick a sorter from a small sample of the input
+ * profiling reads a fixed number of elements, so its cost does not grow with N
+ * 1. size:         short arrays go to insertion sort
+ * 2. presortedness: WINDOWS windows of WINDOW adjacent elements are scanned,
+ *                  a break is a change between ascending and descending,
+ *                  few breaks mean long runs, which run merge sort consumes whole
+ * 3. duplicates:   SAMPLE_SIZE elements taken at equal strides are sorted,
+ *                  if at most half are distinct, three way quick sort
+ *                  handles each key once
+ *                  primitive keys go to radix sort instead, which is linear
+ *                  whatever the duplicates, without deep recursion
+ * 4. key type:     int, long and double keys go to radix sort,
+ *                  objects only have a comparator and go to Intro
+ * run merge is NaturalMerge for objects, for primitives descending runs
+ * are reversed first, then Merge skips merging halves already in order
+ * not stable, use Sort.stableSort when order of equal elements matters
+ */
+public class Adaptive {
+
+    public static final int INSERTION_CUTOFF = 32;
+    public static final int WINDOWS = 32;
+    public static final int WINDOW = 8;
+    // at least this many ordered pairs per break on average
+    public static final int MIN_RUN = 16;
+    public static final int SAMPLE_SIZE = 128;
+
+    public enum Engine {
+        INSERTION, RUN_MERGE, QUICK3WAY, RADIX, INTRO
+    }
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        switch (choose(array, comparator)) {
+            case INSERTION:
+                Insertion.sort(array, comparator);
+                break;
+            case RUN_MERGE:
+                NaturalMerge.sort(array, comparator);
+                break;
+            case QUICK3WAY:
+                Quick3Way.sort(array, comparator);
+                break;
+            default:
+                Intro.sort(array, comparator);
+        }
+    }
+
+    public static void sort(int[] array) {
+        switch (choose(array)) {
+            case INSERTION:
+                Insertion.sort(array);
+                break;
+            case RUN_MERGE:
+                reverseRuns(array);
+                Merge.sort(array);
+                break;
+            default:
+                Radix.sort(array);
+        }
+    }
+
+    public static void sort(long[] array) {
+        switch (choose(array)) {
+            case INSERTION:
+                Insertion.sort(array);
+                break;
+            case RUN_MERGE:
+                reverseRuns(array);
+                Merge.sort(array);
+                break;
+            default:
+                Radix.sort(array);
+        }
+    }
+
+    public static void sort(double[] array) {
+        switch (choose(array)) {
+            case INSERTION:
+                Insertion.sort(array);
+                break;
+            case RUN_MERGE:
+                reverseRuns(array);
+                Merge.sort(array);
+                break;
+            default:
+                Radix.sort(array);
+        }
+    }
+
+    /**
+     * @return engine sort(array, comparator) would use, array is not modified
+     */
+    public static <T> Engine choose(T[] array, Comparator<T> comparator) {
+        return choose(array.length, (i, j) -> comparator.compare(array[i], array[j]), false);
+    }
+
+    public static Engine choose(int[] array) {
+        return choose(array.length, (i, j) -> Integer.compare(array[i], array[j]), true);
+    }
+
+    public static Engine choose(long[] array) {
+        return choose(array.length, (i, j) -> Long.compare(array[i], array[j]), true);
+    }
+
+    public static Engine choose(double[] array) {
+        return choose(array.length, (i, j) -> Double.compare(array[i], array[j]), true);
+    }
+
+    /**
+     * @param compare compares elements at two indices
+     * @param radix true if keys are primitive
+     */
+    private static Engine choose(int length, IntBinaryOperator compare, boolean radix) {
+        if(length < INSERTION_CUTOFF) {
+            return Engine.INSERTION;
+        }
+        if(isPresorted(length, compare)) {
+            return Engine.RUN_MERGE;
+        }
+        if(radix) {
+            // radix sort is linear with or without duplicates
+            return Engine.RADIX;
+        }
+        return isDuplicated(length, compare) ? Engine.QUICK3WAY : Engine.INTRO;
+    }
+
+    /**
+     * @return true if sampled windows change direction at most once per MIN_RUN pairs
+     */
+    private static boolean isPresorted(int length, IntBinaryOperator compare) {
+        int windows = Math.min(WINDOWS, length / WINDOW);
+        int stride = length / windows;
+        int pairs = 0;
+        int breaks = 0;
+        for(int w = 0; w < windows; w++) {
+            int start = w * stride;
+            int direction = 0;
+            for(int i = start; i < start + WINDOW - 1; i++) {
+                int cmp = Integer.signum(compare.applyAsInt(i, i + 1));
+                pairs++;
+                if(cmp == 0) {
+                    // equal elements extend any run
+                    continue;
+                }
+                if(direction != 0 && cmp != direction) {
+                    breaks++;
+                }
+                direction = cmp;
+            }
+        }
+        return breaks * MIN_RUN < pairs;
+    }
+
+    /**
+     * reverse strictly descending runs in place, so Merge finds them ascending
+     * strict, so equal elements are never moved past each other
+     */
+    private static void reverseRuns(int[] array) {
+        int i = 0;
+        while (i < array.length - 1) {
+            int j = i;
+            while (j < array.length - 1 && array[j] > array[j + 1]) {
+                j++;
+            }
+            for(int low = i, high = j; low < high; low++, high--) {
+                Sort.exchange(array, low, high);
+            }
+            i = j + 1;
+        }
+    }
+
+    private static void reverseRuns(long[] array) {
+        int i = 0;
+        while (i < array.length - 1) {
+            int j = i;
+            while (j < array.length - 1 && array[j] > array[j + 1]) {
+                j++;
+            }
+            for(int low = i, high = j; low < high; low++, high--) {
+                Sort.exchange(array, low, high);
+            }
+            i = j + 1;
+        }
+    }
+
+    private static void reverseRuns(double[] array) {
+        int i = 0;
+        while (i < array.length - 1) {
+            int j = i;
+            while (j < array.length - 1 && Double.compare(array[j], array[j + 1]) > 0) {
+                j++;
+            }
+            for(int low = i, high = j; low < high; low++, high--) {
+                Sort.exchange(array, low, high);
+            }
+            i = j + 1;
+        }
+    }
+
+    /**
+     * @return true if at most half of the sampled elements are distinct
+     */
+    private static boolean isDuplicated(int length, IntBinaryOperator compare) {
+        int size = Math.min(SAMPLE_SIZE, length);
+        int stride = length / size;
+        int[] sample = new int[size];
+        for(int i = 0; i < size; i++) {
+            // insert index i * stride into sorted sample[0...i-1]
+            int index = i * stride;
+            int j;
+            for(j = i; j > 0 && compare.applyAsInt(index, sample[j - 1]) < 0; j--) {
+                sample[j] = sample[j - 1];
+            }
+            sample[j] = index;
+        }
+
+        int distinct = 1;
+        for(int i = 1; i < size; i++) {
+            if(compare.applyAsInt(sample[i - 1], sample[i]) != 0) {
+                distinct++;
+            }
+        }
+        return distinct <= size / 2;
+    }
+
+    public static void main(String[] args) {
+        int[] random = Sort.generateInt(100000);
+        int[] sorted = Arrays.copyOf(random, random.length);
+        Arrays.sort(sorted);
+        Integer[] boxed = Sort.generate(100000);
+        System.out.println("random int: " + choose(random));
+        System.out.println("sorted int: " + choose(sorted));
+        System.out.println("boxed: " + choose(boxed, Integer::compareTo));
+        sort(random);
+        sort(boxed, Integer::compareTo);
+        assert  Sort.isOrdered(random);
+        assert  Sort.isOrdered(boxed, Integer::compareTo);
+
+        // few distinct keys spread between zeros, too deep for plain three way quick sort
+        int[] sparse = new int[100000];
+        int[] shifted = new int[1000000];
+        for(int i = 0; i < shifted.length; i++) {
+            if(i < sparse.length) {
+                sparse[i] = i % 4 == 0 ? i : 0;
+            }
+            shifted[i] = i % 4 == 1 ? i : 0;
+        }
+        System.out.println("sparse int: " + choose(sparse));
+        sort(sparse);
+        sort(shifted);
+        assert  Sort.isOrdered(sparse);
+        assert  Sort.isOrdered(shifted);
+
+        int[] reversed = new int[100000];
+        for(int i = 0; i < reversed.length; i++) {
+            reversed[i] = reversed.length - i;
+        }
+        System.out.println("reversed int: " + choose(reversed));
+        sort(reversed);
+        assert  Sort.isOrdered(reversed);
+    }
+}
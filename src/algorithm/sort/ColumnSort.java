@@ -0,0 +1,176 @@
+package algorithm.sort;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+
+/**
+ * multi column sort over primitive columns without materializing rows
+ * result is a permutation of row indices, order[i] is the row at position i
+ * every column is mapped to a long key with the same order,
+ * descending columns are mapped to the complement of their key
+ * rows are sorted by the first column, then each run of equal keys
+ * is refined by the next column, so later columns only touch tied rows
+ * runs are sorted by Radix, short runs by insertion, stable
+ *
+ * int[] order = new ColumnSort(rows)
+ *         .by(region)
+ *         .byDescending(revenue)
+ *         .sort();
+ */
+public class ColumnSort {
+
+    public static final int INSERTION_CUTOFF = Radix.INSERTION_CUTOFF;
+
+    private final int rows;
+    private final List<IntToLongFunction> columns = new ArrayList<>();
+
+    public ColumnSort(int rows) {
+        if(rows < 0) {
+            throw new IllegalArgumentException("rows must >= 0, rows: " + rows);
+        }
+        this.rows = rows;
+    }
+
+    public ColumnSort by(int[] column) {
+        return by(column, false);
+    }
+
+    public ColumnSort byDescending(int[] column) {
+        return by(column, true);
+    }
+
+    public ColumnSort by(int[] column, boolean descending) {
+        check(column.length);
+        // unsigned 32 bit key, upper 32 bits stay zero so radix skips their passes
+        if(descending) {
+            columns.add(row -> ~(column[row] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        } else {
+            columns.add(row -> (column[row] ^ Integer.MIN_VALUE) & 0xFFFFFFFFL);
+        }
+        return this;
+    }
+
+    public ColumnSort by(long[] column) {
+        return by(column, false);
+    }
+
+    public ColumnSort byDescending(long[] column) {
+        return by(column, true);
+    }
+
+    public ColumnSort by(long[] column, boolean descending) {
+        check(column.length);
+        if(descending) {
+            columns.add(row -> ~column[row]);
+        } else {
+            columns.add(row -> column[row]);
+        }
+        return this;
+    }
+
+    public ColumnSort by(double[] column) {
+        return by(column, false);
+    }
+
+    public ColumnSort byDescending(double[] column) {
+        return by(column, true);
+    }
+
+    /**
+     * doubles are ordered like Double.compare, -0.0 before 0.0 and NaN last
+     */
+    public ColumnSort by(double[] column, boolean descending) {
+        check(column.length);
+        if(descending) {
+            columns.add(row -> ~key(column[row]));
+        } else {
+            columns.add(row -> key(column[row]));
+        }
+        return this;
+    }
+
+    /**
+     * @return row indices in sorted order
+     */
+    public int[] sort() {
+        int[] order = new int[rows];
+        for(int i = 0; i < rows; i++) {
+            order[i] = i;
+        }
+        if(!columns.isEmpty()) {
+            refine(order, new long[rows], 0, rows - 1, 0);
+        }
+        return order;
+    }
+
+    /**
+     * sort order[low...high] by column c, then refine runs of equal keys by column c + 1
+     */
+    private void refine(int[] order, long[] keys, int low, int high, int c) {
+        IntToLongFunction column = columns.get(c);
+        for(int i = low; i <= high; i++) {
+            keys[i] = column.applyAsLong(order[i]);
+        }
+        if(high - low < INSERTION_CUTOFF) {
+            insertion(order, keys, low, high);
+        } else {
+            Radix.sort(keys, order, low, high);
+        }
+
+        if(c == columns.size() - 1) {
+            return;
+        }
+        // keys[start...i-1] are equal
+        int start = low;
+        for(int i = low + 1; i <= high + 1; i++) {
+            if(i > high || keys[i] != keys[start]) {
+                if(i - start > 1) {
+                    refine(order, keys, start, i - 1, c + 1);
+                }
+                start = i;
+            }
+        }
+    }
+
+    private static void insertion(int[] order, long[] keys, int low, int high) {
+        for(int i = low + 1; i <= high; i++) {
+            long key = keys[i];
+            int row = order[i];
+            int j;
+            for(j = i; j > low && key < keys[j - 1]; j--) {
+                keys[j] = keys[j - 1];
+                order[j] = order[j - 1];
+            }
+            keys[j] = key;
+            order[j] = row;
+        }
+    }
+
+    /**
+     * map double to a long with the same order, same as KeySort.sortByDouble
+     */
+    private static long key(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+    }
+
+    private void check(int length) {
+        if(length != rows) {
+            throw new IllegalArgumentException("column must have " + rows + " rows, column: " + length);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] region = {2, 1, 2, 1, 3};
+        long[] units = {10, 20, 10, 5, 7};
+        double[] price = {1.5, 2.0, 3.5, 2.0, 0.5};
+        int[] order = new ColumnSort(region.length)
+                .by(region)
+                .byDescending(units)
+                .by(price)
+                .sort();
+        System.out.println("order: " + Arrays.toString(order));
+    }
+}
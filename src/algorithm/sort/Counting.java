@@ -0,0 +1,203 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * counting sort for keys in a small range [min, max]
+ * 1. array is cut into one block per thread, each thread counts
+ *    keys of its block into its own histogram
+ * 2. prefix sum over (key, block) gives every block its own start
+ *    index inside every key bucket
+ * 3. int arrays are rewritten from the counts, objects are scattered
+ *    by each thread into its own slots of an auxiliary array
+ * N + R work where R = max - min + 1, stable
+ * ranges wider than MAX_RANGE go to Radix
+ */
+public class Counting {
+
+    public static final int MAX_RANGE = 1 << 16;
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 16;
+
+    public static void sort(int[] array) {
+        sort(array, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(int[] array, ForkJoinPool pool) {
+        int length = array.length;
+        if(length < 2) {
+            return;
+        }
+        int blocks = blocks(length, pool);
+        int blockSize = (length + blocks - 1) / blocks;
+
+        int[] range = range(array, blocks, blockSize, pool);
+        int min = range[0];
+        if((long) range[1] - min >= MAX_RANGE) {
+            Radix.sort(array);
+            return;
+        }
+        int[][] count = count(array, min, range[1] - min + 1, blocks, blockSize, pool);
+
+        // start[v] is the first index of key min + v
+        int[] start = new int[range[1] - min + 2];
+        for(int v = 0; v < start.length - 1; v++) {
+            int total = 0;
+            for(int block = 0; block < blocks; block++) {
+                total += count[block][v];
+            }
+            start[v + 1] = start[v] + total;
+        }
+
+        // every thread fills its own block of output
+        run(pool, blocks, block -> {
+            int from = block * blockSize;
+            int to = Math.min(length, from + blockSize);
+            // last key whose run starts at or before from
+            int v = upperBound(start, from) - 1;
+            for(int i = from; i < to; v++) {
+                int end = Math.min(to, start[v + 1]);
+                Arrays.fill(array, i, end, min + v);
+                i = end;
+            }
+        });
+    }
+
+    /**
+     * stable sort of array by an int key in a small range,
+     * keys are extracted once
+     */
+    public static <T> void sort(T[] array, ToIntFunction<? super T> key) {
+        sort(array, key, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] array, ToIntFunction<? super T> key, ForkJoinPool pool) {
+        int length = array.length;
+        if(length < 2) {
+            return;
+        }
+        int blocks = blocks(length, pool);
+        int blockSize = (length + blocks - 1) / blocks;
+
+        int[] keys = new int[length];
+        run(pool, blocks, block -> {
+            int end = Math.min(length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                keys[i] = key.applyAsInt(array[i]);
+            }
+        });
+        int[] range = range(keys, blocks, blockSize, pool);
+        int min = range[0];
+        if((long) range[1] - min >= MAX_RANGE) {
+            Radix.sort(array, key);
+            return;
+        }
+        int[][] count = count(keys, min, range[1] - min + 1, blocks, blockSize, pool);
+
+        // turn counts into start index of each block inside each key
+        int offset = 0;
+        for(int v = 0; v < count[0].length; v++) {
+            for(int block = 0; block < blocks; block++) {
+                int size = count[block][v];
+                count[block][v] = offset;
+                offset += size;
+            }
+        }
+
+        // never leaves this class, so an Object array is fine
+        T[] aux = (T[]) new Object[length];
+        run(pool, blocks, block -> {
+            int[] next = count[block];
+            int end = Math.min(length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                aux[next[keys[i] - min]++] = array[i];
+            }
+        });
+        run(pool, blocks, block -> {
+            int from = block * blockSize;
+            if(from < length) {
+                System.arraycopy(aux, from, array, from, Math.min(blockSize, length - from));
+            }
+        });
+    }
+
+    /**
+     * one block per thread, a single block for small arrays
+     */
+    private static int blocks(int length, ForkJoinPool pool) {
+        return length < SEQUENTIAL_THRESHOLD ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * @return {min, max} of keys
+     */
+    private static int[] range(int[] keys, int blocks, int blockSize, ForkJoinPool pool) {
+        int[] min = new int[blocks];
+        int[] max = new int[blocks];
+        run(pool, blocks, block -> {
+            int low = Integer.MAX_VALUE;
+            int high = Integer.MIN_VALUE;
+            int end = Math.min(keys.length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                low = Math.min(low, keys[i]);
+                high = Math.max(high, keys[i]);
+            }
+            min[block] = low;
+            max[block] = high;
+        });
+        return new int[]{Arrays.stream(min).min().getAsInt(), Arrays.stream(max).max().getAsInt()};
+    }
+
+    /**
+     * @return count[block][v], number of keys min + v in a block
+     */
+    private static int[][] count(int[] keys, int min, int range, int blocks, int blockSize, ForkJoinPool pool) {
+        int[][] count = new int[blocks][range];
+        run(pool, blocks, block -> {
+            int[] counter = count[block];
+            int end = Math.min(keys.length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                counter[keys[i] - min]++;
+            }
+        });
+        return count;
+    }
+
+    /**
+     * index of the first element of sorted array greater than item
+     */
+    private static int upperBound(int[] array, int item) {
+        int low = 0;
+        int high = array.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(item < array[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * run body for every block on pool, a single block runs in current thread
+     */
+    private static void run(ForkJoinPool pool, int blocks, IntConsumer body) {
+        if(blocks == 1) {
+            body.accept(0);
+        } else {
+            SampleSort.forEach(pool, blocks, body);
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] array = Sort.generateInt(1000000);
+        sort(array);
+        System.out.println("array: " + Arrays.toString(Arrays.copyOf(array, 10)));
+        assert  Sort.isOrdered(array);
+    }
+}
@@ -0,0 +1,384 @@
+package algorithm.sort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * external merge sort for files larger than the heap
+ * input file is a sequence of fixed width records
+ *
+ * 1. input is read through a FileChannel in chunks of at most memoryLimit bytes,
+ *    each chunk is sorted by Sort.sort and written to a temporary run file
+ * 2. runs are merged fanIn at a time with a heap of run cursors
+ *    until at most fanIn runs are left
+ * 3. last runs are merged into output file
+ *
+ * memory limit counts encoded bytes, decoded records usually take more heap
+ * sort is stable
+ * @param <T> record type
+ */
+public class ExternalMerge<T> {
+
+    public static final long DEFAULT_MEMORY_LIMIT = 64L << 20;
+    public static final int DEFAULT_FAN_IN = 64;
+    public static final int MAX_BUFFER_SIZE = 1 << 20;
+    public static final int INITIAL_CHUNK = 1 << 10;
+
+    /**
+     * convert records from and to their fixed width binary form
+     * @param <T> record type
+     */
+    public interface Codec<T> {
+
+        /**
+         * @return width of one encoded record in bytes
+         */
+        int size();
+
+        /**
+         * write item at position of buffer, exactly size() bytes
+         */
+        void encode(T item, ByteBuffer buffer);
+
+        /**
+         * read item at position of buffer, exactly size() bytes
+         */
+        T decode(ByteBuffer buffer);
+    }
+
+    public static final Codec<Integer> INT = new Codec<>() {
+        @Override
+        public int size() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(Integer item, ByteBuffer buffer) {
+            buffer.putInt(item);
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public int size() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(Long item, ByteBuffer buffer) {
+            buffer.putLong(item);
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    private final Codec<T> codec;
+    private final Comparator<T> comparator;
+    private long memoryLimit = DEFAULT_MEMORY_LIMIT;
+    private int fanIn = DEFAULT_FAN_IN;
+    private Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+
+    public ExternalMerge(Codec<T> codec, Comparator<T> comparator) {
+        this.codec = Objects.requireNonNull(codec);
+        this.comparator = Objects.requireNonNull(comparator);
+    }
+
+    /**
+     * @param memoryLimit maximum bytes of records sorted in memory at once
+     * @return this
+     */
+    public ExternalMerge<T> memoryLimit(long memoryLimit) {
+        if(memoryLimit < codec.size()) {
+            throw new IllegalArgumentException("memory limit must hold at least one record, limit: "
+                    + memoryLimit + ", record size: " + codec.size());
+        }
+        this.memoryLimit = memoryLimit;
+        return this;
+    }
+
+    /**
+     * @param fanIn maximum number of runs merged at once
+     * @return this
+     */
+    public ExternalMerge<T> fanIn(int fanIn) {
+        if(fanIn < 2) {
+            throw new IllegalArgumentException("fan in must >= 2, fan in: " + fanIn);
+        }
+        this.fanIn = fanIn;
+        return this;
+    }
+
+    /**
+     * @param directory where temporary run files are created
+     * @return this
+     */
+    public ExternalMerge<T> directory(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+        return this;
+    }
+
+    /**
+     * sort records of input file into output file
+     * temporary run files are deleted when sort finishes or fails
+     * @param input input file
+     * @param output output file, replaced if exists
+     * @throws IOException if read or write failed,
+     *         or input length is not a multiple of record size
+     */
+    public void sort(Path input, Path output) throws IOException {
+        List<Path> temporaries = new ArrayList<>();
+        try {
+            List<Path> runs = split(input, temporaries);
+            while (runs.size() > fanIn) {
+                List<Path> merged = new ArrayList<>();
+                for(int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    Path run = createRun(temporaries);
+                    merge(group, run);
+                    for(Path path : group) {
+                        Files.deleteIfExists(path);
+                    }
+                    merged.add(run);
+                }
+                runs = merged;
+            }
+            merge(runs, output);
+        } finally {
+            for(Path path : temporaries) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * read input in chunks, sort each chunk and spill it to a run file
+     */
+    @SuppressWarnings("unchecked")
+    private List<Path> split(Path input, List<Path> temporaries) throws IOException {
+        int recordSize = codec.size();
+        int capacity = (int) Math.min(Integer.MAX_VALUE - 8, memoryLimit / recordSize);
+        // grown on demand, small inputs never allocate the whole memory limit
+        T[] chunk = (T[]) new Object[Math.min(capacity, INITIAL_CHUNK)];
+        int size = 0;
+        List<Path> runs = new ArrayList<>();
+
+        try(FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize(1));
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.remaining() >= recordSize) {
+                    if(size == chunk.length) {
+                        chunk = Arrays.copyOf(chunk, (int) Math.min(capacity, 2L * size));
+                    }
+                    chunk[size++] = codec.decode(buffer);
+                    if(size == capacity) {
+                        runs.add(spill(chunk, size, temporaries));
+                        size = 0;
+                    }
+                }
+                buffer.compact();
+            }
+            if(buffer.position() != 0) {
+                throw new IOException("input length is not a multiple of record size " + recordSize);
+            }
+        }
+
+        if(size > 0 || runs.isEmpty()) {
+            runs.add(spill(chunk, size, temporaries));
+        }
+        return runs;
+    }
+
+    private Path spill(T[] chunk, int size, List<Path> temporaries) throws IOException {
+        T[] items = size == chunk.length ? chunk : Arrays.copyOf(chunk, size);
+        Sort.sort(items, comparator);
+
+        Path run = createRun(temporaries);
+        try(Writer<T> writer = new Writer<>(run, codec, bufferSize(1))) {
+            for(T item : items) {
+                writer.write(item);
+            }
+        }
+        // release records before reading next chunk
+        Arrays.fill(chunk, 0, size, null);
+        return run;
+    }
+
+    /**
+     * k way merge of runs into output
+     * equal records are taken from earlier runs first, which keeps sort stable
+     */
+    private void merge(List<Path> runs, Path output) throws IOException {
+        int bufferSize = bufferSize(runs.size() + 1);
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> {
+            int cmp = comparator.compare(a.current, b.current);
+            return cmp != 0 ? cmp : Integer.compare(a.index, b.index);
+        });
+
+        List<Cursor<T>> cursors = new ArrayList<>();
+        try(Writer<T> writer = new Writer<>(output, codec, bufferSize)) {
+            for(int i = 0; i < runs.size(); i++) {
+                Cursor<T> cursor = new Cursor<>(runs.get(i), i, codec, bufferSize);
+                cursors.add(cursor);
+                if(cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+
+            while (!heap.isEmpty()) {
+                Cursor<T> cursor = heap.poll();
+                writer.write(cursor.current);
+                if(cursor.advance()) {
+                    heap.add(cursor);
+                }
+            }
+        } finally {
+            for(Cursor<T> cursor : cursors) {
+                cursor.channel.close();
+            }
+        }
+    }
+
+    private Path createRun(List<Path> temporaries) throws IOException {
+        Path run = Files.createTempFile(directory, "run", ".tmp");
+        temporaries.add(run);
+        return run;
+    }
+
+    /**
+     * split memory limit between streams, rounded down to whole records
+     */
+    private int bufferSize(int streams) {
+        int recordSize = codec.size();
+        long size = Math.min(MAX_BUFFER_SIZE, memoryLimit / streams);
+        return (int) Math.max(recordSize, size / recordSize * recordSize);
+    }
+
+    /**
+     * read records of one run one by one
+     */
+    private static class Cursor<T> {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final int index;
+        private final Codec<T> codec;
+        private T current;
+
+        Cursor(Path run, int index, Codec<T> codec, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.buffer.flip(); // empty, ready to be read
+            this.index = index;
+            this.codec = codec;
+        }
+
+        /**
+         * move to next record
+         * @return false if run is exhausted
+         */
+        boolean advance() throws IOException {
+            int recordSize = codec.size();
+            if(buffer.remaining() < recordSize) {
+                buffer.compact();
+                // keep reading until a whole record is buffered
+                int read = 0;
+                while (buffer.position() < recordSize && read != -1) {
+                    read = channel.read(buffer);
+                }
+                buffer.flip();
+                if(buffer.remaining() < recordSize) {
+                    if(buffer.hasRemaining()) {
+                        throw new IOException("run length is not a multiple of record size " + recordSize);
+                    }
+                    current = null;
+                    return false;
+                }
+            }
+            current = codec.decode(buffer);
+            return true;
+        }
+    }
+
+    /**
+     * buffered record writer
+     */
+    private static class Writer<T> implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private final Codec<T> codec;
+
+        Writer(Path path, Codec<T> codec, int bufferSize) throws IOException {
+            this.channel = FileChannel.open(path,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer = ByteBuffer.allocateDirect(bufferSize);
+            this.codec = codec;
+        }
+
+        void write(T item) throws IOException {
+            if(buffer.remaining() < codec.size()) {
+                flush();
+            }
+            codec.encode(item, buffer);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path input = Files.createTempFile("input", ".bin");
+        Path output = Files.createTempFile("output", ".bin");
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * 100000);
+        for(int item : Sort.generateInt(100000)) {
+            buffer.putInt(item);
+        }
+        Files.write(input, buffer.array());
+
+        new ExternalMerge<>(INT, Integer::compareTo)
+                .memoryLimit(1 << 16)
+                .fanIn(4)
+                .sort(input, output);
+
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+        int[] array = new int[sorted.remaining() / Integer.BYTES];
+        sorted.asIntBuffer().get(array);
+        System.out.println("ordered: " + Sort.isOrdered(array));
+        Files.delete(input);
+        Files.delete(output);
+    }
+}
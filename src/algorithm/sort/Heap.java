@@ -0,0 +1,63 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * N * log(N) compares in worst case
+ * in place, not stable
+ */
+public class Heap implements Sort {
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, 0, array.length - 1, comparator);
+    }
+
+    /**
+     * sort array[low...high], both bounds included
+     * heap is stored in array[low...high] with its root at array[low]
+     */
+    public static <T> void sort(T[] array, int low, int high, Comparator<T> comparator) {
+        int size = high - low + 1;
+        // build max heap, leaves are already heaps
+        for(int k = size / 2 - 1; k >= 0; k--) {
+            sink(array, low, k, size, comparator);
+        }
+        // move max element to the end of heap then shrink heap
+        while (size > 1) {
+            Sort.exchange(array, low, low + --size);
+            sink(array, low, 0, size, comparator);
+        }
+    }
+
+    /**
+     * move node k down until it is not less than its children
+     * children of node k are 2k + 1 and 2k + 2
+     */
+    static <T> void sink(T[] array, int low, int k, int size, Comparator<T> comparator) {
+        T item = array[low + k];
+        while (true) {
+            int child = 2 * k + 1;
+            if(child >= size) {
+                break;
+            }
+            if(child + 1 < size
+                    && comparator.compare(array[low + child], array[low + child + 1]) < 0) {
+                child++;
+            }
+            if(comparator.compare(item, array[low + child]) >= 0) {
+                break;
+            }
+            array[low + k] = array[low + child];
+            k = child;
+        }
+        array[low + k] = item;
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = Sort.generate(10);
+        sort(array, Integer::compareTo);
+        System.out.println("array: " + Arrays.toString(array));
+        assert  Sort.isOrdered(array, Integer::compareTo);
+    }
+}
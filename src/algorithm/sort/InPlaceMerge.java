@@ -0,0 +1,285 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * stable merge sort with a buffer of about sqrt(N) elements instead of N
+ * blocks of INSERTION_CUTOFF elements are sorted by insertion sort,
+ * then merged bottom up
+ * a merge whose smaller run fits in the buffer is done through the buffer,
+ * otherwise the longer run is cut in half, the other run is cut at the
+ * matching position by binary search, the two middle pieces are rotated
+ * and both halves are merged again, so runs shrink until they fit
+ * rotations use the buffer when possible, three reversals otherwise
+ * N * log(N) * log(N / sqrt(N)) in worst case, N * log(N) when runs fit the buffer
+ * parallel driver sorts halves in different threads and splits large merges
+ * the same way, every task has its own buffer, extra memory is P * sqrt(N)
+ */
+public class InPlaceMerge implements Sort {
+
+    public static final int INSERTION_CUTOFF = 16;
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, 0, array.length - 1, comparator);
+    }
+
+    public static <T> void sort(T[] array, int low, int high, Comparator<T> comparator) {
+        if(high <= low) {
+            return;
+        }
+        sort(array, low, high, buffer(high - low + 1), comparator);
+    }
+
+    public static <T> void sort(T[] array, Comparator<T> comparator, ForkJoinPool pool) {
+        if(array.length <= SEQUENTIAL_THRESHOLD || pool.getParallelism() < 2) {
+            sort(array, comparator);
+            return;
+        }
+        pool.invoke(new SortTask<>(array, 0, array.length - 1, comparator));
+    }
+
+    /**
+     * buffer of sqrt(length) elements, never less than INSERTION_CUTOFF
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] buffer(int length) {
+        // never leaves this class, so an Object array is fine
+        return (T[]) new Object[Math.min(length, Math.max(INSERTION_CUTOFF, (int) Math.sqrt(length)))];
+    }
+
+    /**
+     * bottom up merge sort of array[low...high]
+     */
+    private static <T> void sort(T[] array, int low, int high, T[] buffer, Comparator<T> comparator) {
+        for(int i = low; i <= high; i += INSERTION_CUTOFF) {
+            Insertion.sort(array, i, Math.min(i + INSERTION_CUTOFF - 1, high), comparator);
+        }
+        for(int size = INSERTION_CUTOFF; size <= high - low; size = size + size) {
+            for(int i = low; i <= high - size; i += size + size) {
+                merge(array, i, i + size - 1, Math.min(i + size + size - 1, high), buffer, comparator);
+            }
+        }
+    }
+
+    /**
+     * merge array[low...middle] and array[middle+1...high] using buffer
+     */
+    static <T> void merge(T[] array, int low, int middle, int high, T[] buffer, Comparator<T> comparator) {
+        while (low <= middle && middle < high) {
+            if(comparator.compare(array[middle], array[middle + 1]) <= 0) {
+                // two runs are already in order
+                return;
+            }
+
+            int left = middle - low + 1;
+            int right = high - middle;
+            if(left <= right && left <= buffer.length) {
+                mergeLo(array, low, middle, high, buffer, comparator);
+                return;
+            }
+            if(right <= buffer.length) {
+                mergeHi(array, low, middle, high, buffer, comparator);
+                return;
+            }
+
+            int[] cut = cut(array, low, middle, high, comparator);
+            int newMiddle = rotate(array, cut[0], middle, cut[1] - 1, buffer);
+            // array[low...cut[0]-1] + array[cut[0]...newMiddle-1]
+            // array[newMiddle...newMiddle + middle - cut[0]] + array[...high]
+            // recurse into smaller merge and loop on larger one
+            if(newMiddle - low < high - newMiddle + 1) {
+                merge(array, low, cut[0] - 1, newMiddle - 1, buffer, comparator);
+                low = newMiddle;
+                middle = newMiddle + middle - cut[0];
+            } else {
+                merge(array, newMiddle, newMiddle + middle - cut[0], high, buffer, comparator);
+                high = newMiddle - 1;
+                middle = cut[0] - 1;
+            }
+        }
+    }
+
+    /**
+     * cut both runs so that array[low...cut[0]-1] and array[middle+1...cut[1]-1]
+     * all come before array[cut[0]...middle] and array[cut[1]...high] in the merged result
+     * the longer run is cut in half, so every piece is smaller than the whole merge
+     */
+    private static <T> int[] cut(T[] array, int low, int middle, int high, Comparator<T> comparator) {
+        int left = middle - low + 1;
+        int right = high - middle;
+        if(left > right) {
+            int first = low + left / 2;
+            // first element of right run not less than array[first]
+            int a = middle + 1;
+            int b = high + 1;
+            while (a < b) {
+                int m = (a + b) >>> 1;
+                if(comparator.compare(array[m], array[first]) < 0) {
+                    a = m + 1;
+                } else {
+                    b = m;
+                }
+            }
+            return new int[]{first, a};
+        } else {
+            int second = middle + 1 + right / 2;
+            // first element of left run greater than array[second]
+            int a = low;
+            int b = middle + 1;
+            while (a < b) {
+                int m = (a + b) >>> 1;
+                if(comparator.compare(array[second], array[m]) < 0) {
+                    b = m;
+                } else {
+                    a = m + 1;
+                }
+            }
+            return new int[]{a, second};
+        }
+    }
+
+    /**
+     * rotate array[low...high] so that array[middle+1...high] comes before array[low...middle]
+     * @return new index of old array[low]
+     */
+    private static <T> int rotate(T[] array, int low, int middle, int high, T[] buffer) {
+        int left = middle - low + 1;
+        int right = high - middle;
+        if(left == 0 || right == 0) {
+            return low + right;
+        }
+        if(left <= buffer.length && left <= right) {
+            System.arraycopy(array, low, buffer, 0, left);
+            System.arraycopy(array, middle + 1, array, low, right);
+            System.arraycopy(buffer, 0, array, low + right, left);
+        } else if(right <= buffer.length) {
+            System.arraycopy(array, middle + 1, buffer, 0, right);
+            System.arraycopy(array, low, array, low + right, left);
+            System.arraycopy(buffer, 0, array, low, right);
+        } else {
+            reverse(array, low, middle);
+            reverse(array, middle + 1, high);
+            reverse(array, low, high);
+        }
+        return low + right;
+    }
+
+    private static <T> void reverse(T[] array, int low, int high) {
+        while (low < high) {
+            Sort.exchange(array, low++, high--);
+        }
+    }
+
+    /**
+     * left run is moved into buffer and merged forward
+     */
+    private static <T> void mergeLo(T[] array, int low, int middle, int high, T[] buffer, Comparator<T> comparator) {
+        int left = middle - low + 1;
+        System.arraycopy(array, low, buffer, 0, left);
+        int i = 0;
+        int j = middle + 1;
+        int k = low;
+        while (i < left && j <= high) {
+            if(comparator.compare(array[j], buffer[i]) < 0) {
+                array[k++] = array[j++];
+            } else {
+                array[k++] = buffer[i++];
+            }
+        }
+        // rest of right run is already in place
+        System.arraycopy(buffer, i, array, k, left - i);
+    }
+
+    /**
+     * right run is moved into buffer and merged backward
+     */
+    private static <T> void mergeHi(T[] array, int low, int middle, int high, T[] buffer, Comparator<T> comparator) {
+        int right = high - middle;
+        System.arraycopy(array, middle + 1, buffer, 0, right);
+        int i = middle;
+        int j = right - 1;
+        int k = high;
+        while (i >= low && j >= 0) {
+            if(comparator.compare(buffer[j], array[i]) < 0) {
+                array[k--] = array[i--];
+            } else {
+                array[k--] = buffer[j--];
+            }
+        }
+        // rest of left run is already in place
+        System.arraycopy(buffer, 0, array, low, j + 1);
+    }
+
+    @SuppressWarnings("serial")
+    private static class SortTask<T> extends RecursiveAction {
+        private final T[] array;
+        private final int low;
+        private final int high;
+        private final Comparator<T> comparator;
+
+        SortTask(T[] array, int low, int high, Comparator<T> comparator) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if(high - low < SEQUENTIAL_THRESHOLD) {
+                InPlaceMerge.sort(array, low, high, comparator);
+                return;
+            }
+            int middle = low + (high - low) / 2;
+            invokeAll(new SortTask<>(array, low, middle, comparator),
+                    new SortTask<>(array, middle + 1, high, comparator));
+            new MergeTask<>(array, low, middle, high, comparator).compute();
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class MergeTask<T> extends RecursiveAction {
+        private final T[] array;
+        private final int low;
+        private final int middle;
+        private final int high;
+        private final Comparator<T> comparator;
+
+        MergeTask(T[] array, int low, int middle, int high, Comparator<T> comparator) {
+            this.array = array;
+            this.low = low;
+            this.middle = middle;
+            this.high = high;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if(low > middle || middle >= high
+                    || comparator.compare(array[middle], array[middle + 1]) <= 0) {
+                return;
+            }
+            T[] buffer = buffer(high - low + 1);
+            if(high - low < SEQUENTIAL_THRESHOLD) {
+                merge(array, low, middle, high, buffer, comparator);
+                return;
+            }
+            int[] cut = cut(array, low, middle, high, comparator);
+            int newMiddle = rotate(array, cut[0], middle, cut[1] - 1, buffer);
+            invokeAll(new MergeTask<>(array, low, cut[0] - 1, newMiddle - 1, comparator),
+                    new MergeTask<>(array, newMiddle, newMiddle + middle - cut[0], high, comparator));
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = Sort.generate(100000);
+        sort(array, Integer::compareTo, ForkJoinPool.commonPool());
+        System.out.println("ordered: " + Sort.isOrdered(array, Integer::compareTo));
+        System.out.println("array: " + Arrays.toString(Arrays.copyOf(array, 10)));
+        assert  Sort.isOrdered(array, Integer::compareTo);
+    }
+}
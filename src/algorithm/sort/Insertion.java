@@ -6,11 +6,19 @@ import java.util.Comparator;
 public class Insertion implements Sort{
 
     public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, 0, array.length - 1, comparator);
+    }
+
+    /**
+     * sort array[low...high], both bounds included
+     * used by recursive sorters to finish small sub arrays
+     */
+    public static <T> void sort(T[] array, int low, int high, Comparator<T> comparator) {
 
-        for(int i = 1; i < array.length; i++) {
+        for(int i = low + 1; i <= high; i++) {
             T key = array[i];
             int j = i;
-            for(j = i; j > 0; j--) { // when j = 0 loop end
+            for(j = i; j > low; j--) { // when j = low loop end
                 if(comparator.compare(key, array[j - 1]) < 0) {
                     // move bigger element forward
                     array[j] = array[j - 1];
@@ -23,6 +31,65 @@ public class Insertion implements Sort{
     }
 
 
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(int[] array, int low, int high) {
+        for(int i = low + 1; i <= high; i++) {
+            int key = array[i];
+            int j;
+            for(j = i; j > low; j--) {
+                if(key < array[j - 1]) {
+                    array[j] = array[j - 1];
+                } else {
+                    break;
+                }
+            }
+            array[j] = key;
+        }
+    }
+
+    public static void sort(long[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(long[] array, int low, int high) {
+        for(int i = low + 1; i <= high; i++) {
+            long key = array[i];
+            int j;
+            for(j = i; j > low; j--) {
+                if(key < array[j - 1]) {
+                    array[j] = array[j - 1];
+                } else {
+                    break;
+                }
+            }
+            array[j] = key;
+        }
+    }
+
+    public static void sort(double[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(double[] array, int low, int high) {
+        for(int i = low + 1; i <= high; i++) {
+            double key = array[i];
+            int j;
+            for(j = i; j > low; j--) {
+                if(Double.compare(key, array[j - 1]) < 0) {
+                    array[j] = array[j - 1];
+                } else {
+                    break;
+                }
+            }
+            array[j] = key;
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] array = Sort.generate(10);
         sort(array, Integer::compareTo);
@@ -0,0 +1,184 @@
+package algorithm.sort;
+
+import util.recorder.StopWatch;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * counters of work done by a sort, comparisons, swaps, moves and recursion depth,
+ * and elapsed time of every phase measured by StopWatch
+ *
+ * hooks are guarded by ENABLED, which is read once from the system property
+ * algorithm.sort.instrument, so when it is off the JIT drops the guarded code
+ * and instrumented sorters run exactly like plain ones
+ *
+ * java -Dalgorithm.sort.instrument=true ...
+ * Instrument.measure("shell", () -> Shell.sort(array, comparator), sink);
+ *
+ * counters belong to the measuring thread, work done by other threads is not counted
+ * instrumented: Quick(Comparable), Shell(Comparator), MergeBU(Comparator)
+ */
+public class Instrument {
+
+    public static final boolean ENABLED = Boolean.getBoolean("algorithm.sort.instrument");
+
+    private static final ThreadLocal<Metrics> CURRENT = new ThreadLocal<>();
+
+    /**
+     * receive metrics of a finished sort, for example a logger or a metrics registry
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void report(String name, Metrics metrics);
+    }
+
+    /**
+     * run sort on this thread, collect its metrics and report them to sink
+     * without ENABLED only total elapsed time is collected
+     * @return metrics of this run
+     */
+    public static Metrics measure(String name, Runnable sort, Sink sink) {
+        Metrics metrics = new Metrics();
+        Metrics outer = CURRENT.get();
+        CURRENT.set(metrics);
+        long start = System.nanoTime();
+        try {
+            sort.run();
+        } finally {
+            metrics.stopPhase();
+            metrics.elapsed = System.nanoTime() - start;
+            if(outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+        sink.report(name, metrics);
+        return metrics;
+    }
+
+    // hooks, call them only inside if(Instrument.ENABLED)
+
+    static void compare() {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.compares++;
+        }
+    }
+
+    static void swap() {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.swaps++;
+        }
+    }
+
+    static void move(int count) {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.moves += count;
+        }
+    }
+
+    static void enter() {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.maxDepth = Math.max(metrics.maxDepth, ++metrics.depth);
+        }
+    }
+
+    static void exit() {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.depth--;
+        }
+    }
+
+    /**
+     * end current phase and start a new one,
+     * time of phases with the same name is added up
+     */
+    static void phase(String name) {
+        Metrics metrics = CURRENT.get();
+        if(metrics != null) {
+            metrics.stopPhase();
+            metrics.watch.watch(name);
+        }
+    }
+
+    public static class Metrics {
+        private long compares;
+        private long swaps;
+        private long moves;
+        private int depth;
+        private int maxDepth;
+        private long elapsed;
+        private final StopWatch watch = new StopWatch();
+        private final Map<String, Long> phases = new LinkedHashMap<>();
+
+        private void stopPhase() {
+            StopWatch.Record record = watch.stop();
+            if(record != null) {
+                phases.merge((String) record.getDescription(), record.getDuration(), Long::sum);
+            }
+        }
+
+        public long getCompares() {
+            return compares;
+        }
+
+        public long getSwaps() {
+            return swaps;
+        }
+
+        public long getMoves() {
+            return moves;
+        }
+
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * @return total elapsed nanoseconds
+         */
+        public long getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return elapsed nanoseconds of each phase in order of first appearance
+         */
+        public Map<String, Long> getPhases() {
+            return Collections.unmodifiableMap(phases);
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "compares=" + compares +
+                    ", swaps=" + swaps +
+                    ", moves=" + moves +
+                    ", maxDepth=" + maxDepth +
+                    ", elapsed=" + elapsed +
+                    ", phases=" + phases +
+                    '}';
+        }
+    }
+
+    public static void main(String[] args) {
+        Sink sink = (name, metrics) -> System.out.println(name + ": " + metrics);
+        Integer[] quick = Sort.generate(10000);
+        Integer[] shell = Arrays.copyOf(quick, quick.length);
+        Integer[] mergeBU = Arrays.copyOf(quick, quick.length);
+        measure("quick", () -> Quick.sort(quick), sink);
+        measure("shell", () -> Shell.sort(shell, Integer::compareTo), sink);
+        measure("mergeBU", () -> MergeBU.sort(mergeBU, Integer::compareTo), sink);
+        if(!ENABLED) {
+            System.out.println("run with -Dalgorithm.sort.instrument=true to count work");
+        }
+    }
+}
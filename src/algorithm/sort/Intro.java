@@ -0,0 +1,165 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * introspective sort
+ * quick sort with median of three (ninther for large ranges) pivot,
+ * three way partition when the pivot sample contains equal keys,
+ * heap sort when recursion is deeper than 2 * log(N),
+ * insertion sort for ranges smaller than INSERTION_CUTOFF
+ * N * log(N) compares in worst case, log(N) stack depth, not stable
+ */
+public class Intro implements Sort {
+
+    public static final int INSERTION_CUTOFF = 16;
+    public static final int NINTHER_THRESHOLD = 128;
+
+    public static <T extends Comparable<T>> void sort(T[] array) {
+        sort(array, Comparator.naturalOrder());
+    }
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, 0, array.length - 1, comparator);
+    }
+
+    public static <T> void sort(T[] array, int low, int high, Comparator<T> comparator) {
+        if(high <= low) {
+            return;
+        }
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(high - low + 1));
+        sort(array, low, high, depth, comparator);
+    }
+
+    private static <T> void sort(T[] array, int low, int high, int depth, Comparator<T> comparator) {
+        while (high - low >= INSERTION_CUTOFF) {
+            if(depth-- == 0) {
+                // partitions are too unbalanced
+                Heap.sort(array, low, high, comparator);
+                return;
+            }
+
+            // left part array[low...leftHigh], right part array[rightLow...high]
+            int leftHigh;
+            int rightLow;
+            if(pivot(array, low, high, comparator)) {
+                // same as Quick3Way
+                // array[low...less - 1] < v = array[less...greater] < array[greater + 1...high]
+                int less = low;
+                int i = low + 1;
+                int greater = high;
+                T v = array[low];
+                while (i <= greater) {
+                    int cmp = comparator.compare(array[i], v);
+                    if(cmp < 0) {
+                        Sort.exchange(array, less++, i++);
+                    } else if(cmp > 0) {
+                        Sort.exchange(array, i, greater--);
+                    } else {
+                        i++;
+                    }
+                }
+                leftHigh = less - 1;
+                rightLow = greater + 1;
+            } else {
+                int j = partition(array, low, high, comparator);
+                leftHigh = j - 1;
+                rightLow = j + 1;
+            }
+
+            // recurse into smaller part and loop on larger part
+            // so that stack depth is at most log(N)
+            if(leftHigh - low < high - rightLow) {
+                sort(array, low, leftHigh, depth, comparator);
+                low = rightLow;
+            } else {
+                sort(array, rightLow, high, depth, comparator);
+                high = leftHigh;
+            }
+        }
+        Insertion.sort(array, low, high, comparator);
+    }
+
+    /**
+     * move pivot to array[low]
+     * @return true if pivot sample contains keys equal to pivot,
+     *         which suggests that array has many duplicated keys
+     */
+    static <T> boolean pivot(T[] array, int low, int high, Comparator<T> comparator) {
+        int size = high - low + 1;
+        int middle = low + size / 2;
+        int a = low;
+        int b = middle;
+        int c = high;
+        if(size > NINTHER_THRESHOLD) {
+            // tukey's ninther, median of three medians
+            int step = size / 8;
+            a = median(array, low, low + step, low + step + step, comparator);
+            b = median(array, middle - step, middle, middle + step, comparator);
+            c = median(array, high - step - step, high - step, high, comparator);
+        }
+        int median = median(array, a, b, c, comparator);
+        boolean duplicated =
+                (median != a && comparator.compare(array[median], array[a]) == 0)
+                || (median != b && comparator.compare(array[median], array[b]) == 0)
+                || (median != c && comparator.compare(array[median], array[c]) == 0);
+        Sort.exchange(array, low, median);
+        return duplicated;
+    }
+
+    /**
+     * index of the median of array[a], array[b], array[c]
+     */
+    static <T> int median(T[] array, int a, int b, int c, Comparator<T> comparator) {
+        if(comparator.compare(array[a], array[b]) < 0) {
+            if(comparator.compare(array[b], array[c]) < 0) {
+                return b;
+            }
+            return comparator.compare(array[a], array[c]) < 0 ? c : a;
+        }
+        if(comparator.compare(array[c], array[b]) < 0) {
+            return b;
+        }
+        return comparator.compare(array[c], array[a]) < 0 ? c : a;
+    }
+
+    /**
+     * same as Quick.partition, partition item is array[low]
+     */
+    static <T> int partition(T[] array, int low, int high, Comparator<T> comparator) {
+        int i = low;
+        int j = high + 1;
+        T item = array[low];
+        while (true) {
+            while (comparator.compare(array[++i], item) < 0) {
+                if(i == high) {
+                    break;
+                }
+            }
+            while (comparator.compare(item, array[--j]) < 0) {
+                if(j == low) {
+                    break;
+                }
+            }
+            if(i >= j) {
+                break;
+            }
+            Sort.exchange(array, i, j);
+        }
+
+        array[low] = array[j];
+        array[j] = item;
+        return j;
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = new Integer[100000];
+        for(int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+        sort(array, Integer::compareTo);
+        System.out.println("ordered: " + Sort.isOrdered(array, Integer::compareTo));
+        assert  Sort.isOrdered(array, Integer::compareTo);
+    }
+}
@@ -0,0 +1,340 @@
+package algorithm.sort;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * merge k sorted runs in one pass instead of log(k) pairwise passes
+ * loserTree: tournament tree of k leaves, every internal node keeps the loser
+ *            of the match played there, winner is kept at tree[0],
+ *            taking the winner replays only its path, log(k) compares per element
+ * funnel:    lazy funnel merge, a binary tree of two way mergers with a buffer
+ *            on every edge, a node fills its buffer by merging the buffers of its
+ *            children and refills a child only when the child's buffer is empty
+ *            buffers are sized like a k funnel, the tree is cut at half height,
+ *            buffers below the cut hold about m^(3/2) elements where m is the
+ *            number of runs below, and both halves are cut again,
+ *            so every subtree that fits in a cache level is used until its
+ *            buffer is full without knowing the cache size
+ * merge picks loserTree below FUNNEL_THRESHOLD runs, funnel above
+ * runs are consumed lazily, equal elements come from earlier runs first, stable
+ */
+public class KWayMerge {
+
+    public static final int FUNNEL_THRESHOLD = 1 << 9;
+    public static final int MIN_BUFFER = 32;
+
+    public static <T> Iterator<T> merge(List<? extends Iterator<? extends T>> runs, Comparator<T> comparator) {
+        return runs.size() < FUNNEL_THRESHOLD ? loserTree(runs, comparator) : funnel(runs, comparator);
+    }
+
+    public static <T> Iterator<T> loserTree(List<? extends Iterator<? extends T>> runs, Comparator<T> comparator) {
+        return new LoserTree<>(runs, comparator);
+    }
+
+    public static <T> Iterator<T> funnel(List<? extends Iterator<? extends T>> runs, Comparator<T> comparator) {
+        return new Funnel<>(runs, comparator);
+    }
+
+    /**
+     * merge sorted arrays into a new array
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] merge(T[][] runs, Comparator<T> comparator) {
+        List<Iterator<T>> iterators = new ArrayList<>(runs.length);
+        int length = 0;
+        for(T[] run : runs) {
+            iterators.add(Arrays.asList(run).iterator());
+            length += run.length;
+        }
+        // same component type as the input runs
+        T[] result = (T[]) Array.newInstance(runs.getClass().getComponentType().getComponentType(), length);
+        Iterator<T> merged = merge(iterators, comparator);
+        for(int i = 0; i < length; i++) {
+            result[i] = merged.next();
+        }
+        return result;
+    }
+
+    /**
+     * merge sorted streams lazily, closing the result closes every input
+     */
+    public static <T> Stream<T> mergeStreams(List<? extends Stream<? extends T>> runs, Comparator<T> comparator) {
+        List<Iterator<? extends T>> iterators = runs.stream()
+                .map(Stream::iterator)
+                .collect(Collectors.toList());
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(
+                merge(iterators, comparator), Spliterator.ORDERED);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> runs.forEach(Stream::close));
+    }
+
+    private static class LoserTree<T> implements Iterator<T> {
+        private final Iterator<? extends T>[] runs;
+        private final T[] heads;
+        private final boolean[] exhausted;
+        // tree[0] is the winner, tree[1...k-1] are losers, leaf of run i is k + i
+        private final int[] tree;
+        private final Comparator<T> comparator;
+
+        @SuppressWarnings("unchecked")
+        LoserTree(List<? extends Iterator<? extends T>> runs, Comparator<T> comparator) {
+            int k = runs.size();
+            this.runs = (Iterator<? extends T>[]) runs.toArray(new Iterator<?>[0]);
+            // never leaves this class, so an Object array is fine
+            this.heads = (T[]) new Object[k];
+            this.exhausted = new boolean[k];
+            this.tree = new int[Math.max(1, k)];
+            this.comparator = comparator;
+            for(int i = 0; i < k; i++) {
+                advance(i);
+            }
+            if(k > 0) {
+                tree[0] = play(1);
+            }
+        }
+
+        /**
+         * play matches of the subtree rooted at node
+         * @return winner of the subtree
+         */
+        private int play(int node) {
+            int k = runs.length;
+            if(node >= k) {
+                return node - k;
+            }
+            int left = play(2 * node);
+            int right = play(2 * node + 1);
+            if(beats(left, right)) {
+                tree[node] = right;
+                return left;
+            }
+            tree[node] = left;
+            return right;
+        }
+
+        /**
+         * exhausted runs lose every match, ties go to the earlier run
+         */
+        private boolean beats(int a, int b) {
+            if(exhausted[b]) {
+                return true;
+            }
+            if(exhausted[a]) {
+                return false;
+            }
+            int cmp = comparator.compare(heads[a], heads[b]);
+            return cmp < 0 || (cmp == 0 && a < b);
+        }
+
+        private void advance(int run) {
+            if(runs[run].hasNext()) {
+                heads[run] = runs[run].next();
+            } else {
+                heads[run] = null;
+                exhausted[run] = true;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return runs.length > 0 && !exhausted[tree[0]];
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int winner = tree[0];
+            T item = heads[winner];
+            advance(winner);
+            // replay matches from the leaf of winner up to the root
+            for(int node = (winner + runs.length) / 2; node > 0; node /= 2) {
+                if(beats(tree[node], winner)) {
+                    int loser = winner;
+                    winner = tree[node];
+                    tree[node] = loser;
+                }
+            }
+            tree[0] = winner;
+            return item;
+        }
+    }
+
+    private static class Funnel<T> implements Iterator<T> {
+        private final Node<T> root;
+        private final Comparator<T> comparator;
+
+        Funnel(List<? extends Iterator<? extends T>> runs, Comparator<T> comparator) {
+            this.comparator = comparator;
+            this.root = runs.isEmpty() ? null : build(runs, 0, runs.size());
+            if(root != null) {
+                size(root, height(runs.size()));
+            }
+        }
+
+        /**
+         * balanced merge tree over runs[from...to)
+         */
+        private Node<T> build(List<? extends Iterator<? extends T>> runs, int from, int to) {
+            Node<T> node = new Node<>();
+            if(to - from == 1) {
+                node.run = runs.get(from);
+            } else {
+                int middle = (from + to) >>> 1;
+                node.left = build(runs, from, middle);
+                node.right = build(runs, middle, to);
+            }
+            node.resize(MIN_BUFFER);
+            return node;
+        }
+
+        private static int height(int leaves) {
+            return 32 - Integer.numberOfLeadingZeros(leaves - 1);
+        }
+
+        /**
+         * size buffers of the top height levels below node like a k funnel
+         * nodes at half height are roots of bottom funnels with m leaves,
+         * their buffers get m^(3/2) elements, top and bottoms are sized recursively
+         */
+        private void size(Node<T> node, int height) {
+            if(height <= 1) {
+                return;
+            }
+            int top = (height + 1) / 2;
+            int bottom = height - top;
+            int capacity = Math.max(MIN_BUFFER, (int) Math.min(1 << 20, Math.round(Math.pow(1 << bottom, 1.5))));
+            List<Node<T>> roots = new ArrayList<>();
+            collect(node, top, roots);
+            for(Node<T> root : roots) {
+                if(root.run == null) {
+                    root.resize(capacity);
+                }
+                size(root, bottom);
+            }
+            size(node, top);
+        }
+
+        private void collect(Node<T> node, int depth, List<Node<T>> roots) {
+            if(depth == 0 || node.run != null) {
+                roots.add(node);
+                return;
+            }
+            collect(node.left, depth - 1, roots);
+            collect(node.right, depth - 1, roots);
+        }
+
+        /**
+         * fill buffer of node until it is full or its runs are exhausted
+         */
+        private void fill(Node<T> node) {
+            if(node.run != null) {
+                while (node.size < node.buffer.length && node.run.hasNext()) {
+                    node.push(node.run.next());
+                }
+                node.exhausted = !node.run.hasNext();
+                return;
+            }
+            Node<T> left = node.left;
+            Node<T> right = node.right;
+            while (node.size < node.buffer.length) {
+                if(left.size == 0 && !left.exhausted) {
+                    fill(left);
+                }
+                if(right.size == 0 && !right.exhausted) {
+                    fill(right);
+                }
+                if(left.size == 0 && right.size == 0) {
+                    node.exhausted = true;
+                    return;
+                }
+                // ties go to left child, which holds earlier runs
+                if(right.size == 0 || (left.size > 0
+                        && comparator.compare(right.peek(), left.peek()) >= 0)) {
+                    node.push(left.poll());
+                } else {
+                    node.push(right.poll());
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if(root == null) {
+                return false;
+            }
+            if(root.size == 0 && !root.exhausted) {
+                fill(root);
+            }
+            return root.size > 0;
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return root.poll();
+        }
+    }
+
+    /**
+     * merger of a funnel with a circular output buffer
+     */
+    private static class Node<T> {
+        private Node<T> left;
+        private Node<T> right;
+        private Iterator<? extends T> run;
+        private T[] buffer;
+        private int head;
+        private int size;
+        private boolean exhausted;
+
+        @SuppressWarnings("unchecked")
+        void resize(int capacity) {
+            // only called before any element is buffered
+            buffer = (T[]) new Object[capacity];
+        }
+
+        T peek() {
+            return buffer[head];
+        }
+
+        T poll() {
+            T item = buffer[head];
+            buffer[head] = null;
+            head = head + 1 == buffer.length ? 0 : head + 1;
+            size--;
+            return item;
+        }
+
+        void push(T item) {
+            int tail = head + size;
+            buffer[tail < buffer.length ? tail : tail - buffer.length] = item;
+            size++;
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[][] runs = new Integer[1000][];
+        for(int i = 0; i < runs.length; i++) {
+            runs[i] = Sort.generate(100);
+            Intro.sort(runs[i], Integer::compareTo);
+        }
+        Integer[] merged = merge(runs, Integer::compareTo);
+        System.out.println("ordered: " + Sort.isOrdered(merged, Integer::compareTo));
+        assert  Sort.isOrdered(merged, Integer::compareTo);
+    }
+}
@@ -0,0 +1,139 @@
+package algorithm.sort;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * key caching sort, also known as schwartzian transform
+ * key of every element is extracted exactly once into a flat array,
+ * then (key, index) pairs are sorted instead of elements,
+ * finally elements are permuted in place by following cycles of the sorted indices
+ * N key extractions instead of N * log(N), stable
+ */
+public class KeySort {
+
+    public static final int INSERTION_CUTOFF = 16;
+
+    /**
+     * sort array by a long key, (key, index) pairs are sorted by Radix
+     */
+    public static <T> void sortByLong(T[] array, ToLongFunction<? super T> key) {
+        int length = array.length;
+        long[] keys = new long[length];
+        int[] index = new int[length];
+        for(int i = 0; i < length; i++) {
+            keys[i] = key.applyAsLong(array[i]);
+            index[i] = i;
+        }
+        Radix.sort(keys, index);
+        permute(array, index);
+    }
+
+    /**
+     * sort array by a double key, ordered like Double.compare
+     */
+    public static <T> void sortByDouble(T[] array, ToDoubleFunction<? super T> key) {
+        sortByLong(array, item -> {
+            // map double to a long with the same order
+            long bits = Double.doubleToLongBits(key.applyAsDouble(item));
+            return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+        });
+    }
+
+    /**
+     * sort array by an object key, indices are merge sorted by comparing cached keys
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K> void sort(T[] array,
+                                   Function<? super T, ? extends K> key,
+                                   Comparator<? super K> comparator) {
+        int length = array.length;
+        K[] keys = (K[]) new Object[length];
+        int[] index = new int[length];
+        for(int i = 0; i < length; i++) {
+            keys[i] = key.apply(array[i]);
+            index[i] = i;
+        }
+        sort(index, new int[length], 0, length - 1, keys, comparator);
+        permute(array, index);
+    }
+
+    /**
+     * merge sort index[low...high] by keys[index[i]]
+     */
+    private static <K> void sort(int[] index,
+                                 int[] aux,
+                                 int low,
+                                 int high,
+                                 K[] keys,
+                                 Comparator<? super K> comparator) {
+        if(high - low < INSERTION_CUTOFF) {
+            for(int i = low + 1; i <= high; i++) {
+                int item = index[i];
+                int j;
+                for(j = i; j > low && comparator.compare(keys[item], keys[index[j - 1]]) < 0; j--) {
+                    index[j] = index[j - 1];
+                }
+                index[j] = item;
+            }
+            return;
+        }
+
+        int middle = low + (high - low) / 2;
+        sort(index, aux, low, middle, keys, comparator);
+        sort(index, aux, middle + 1, high, keys, comparator);
+        if(comparator.compare(keys[index[middle]], keys[index[middle + 1]]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(index, low, aux, low, high - low + 1);
+        int i = low;
+        int j = middle + 1;
+        for(int k = low; k <= high; k++) {
+            if(i > middle) {
+                index[k] = aux[j++];
+            } else if(j > high) {
+                index[k] = aux[i++];
+            } else if(comparator.compare(keys[aux[j]], keys[aux[i]]) < 0) {
+                index[k] = aux[j++];
+            } else {
+                index[k] = aux[i++];
+            }
+        }
+    }
+
+    /**
+     * rearrange array so that new array[i] is old array[index[i]]
+     * each cycle of the permutation is rotated once,
+     * visited positions are marked by index[i] = i
+     */
+    static <T> void permute(T[] array, int[] index) {
+        for(int i = 0; i < array.length; i++) {
+            if(index[i] == i) {
+                continue;
+            }
+            T first = array[i];
+            int j = i;
+            while (true) {
+                int next = index[j];
+                index[j] = j;
+                if(next == i) {
+                    array[j] = first;
+                    break;
+                }
+                array[j] = array[next];
+                j = next;
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        String[] array = {"2020-06-03T10:15:30Z", "2019-01-01T00:00:00Z", "2020-06-03T09:15:30Z"};
+        sortByLong(array, item -> Instant.parse(item).toEpochMilli());
+        System.out.println("array: " + Arrays.toString(array));
+    }
+}
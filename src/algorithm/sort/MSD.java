@@ -0,0 +1,107 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+
+/**
+ * most significant digit first string radix sort
+ * each char is split into two 8 bit digits, high byte first,
+ * so the count array stays small for any char
+ * sub arrays smaller than CUTOFF are sorted by Quick3String,
+ * which avoids allocating count arrays for tiny buckets
+ * a digit shared by the whole sub array is skipped without moving anything,
+ * so ascii strings do not pay a pass for the zero high byte of every char
+ * not stable
+ */
+public class MSD {
+
+    public static final int BITS = 8;
+    public static final int RADIX = 1 << BITS;
+    public static final int CUTOFF = 64;
+
+    public static void sort(String[] array) {
+        if(array.length < 2) {
+            return;
+        }
+        sort(array, new String[array.length], 0, array.length - 1, 0);
+    }
+
+    /**
+     * sort array[low...high] by digit d, first d digits of these strings are equal
+     */
+    private static void sort(String[] array, String[] aux, int low, int high, int d) {
+        if(high - low < CUTOFF) {
+            // first d / 2 characters are equal
+            Quick3String.sort(array, low, high, d / 2);
+            return;
+        }
+
+        // count[r + 2] holds the number of strings whose digit is r
+        // digit -1 means the string has ended
+        int length = high - low + 1;
+        int[] count = new int[RADIX + 2];
+        while (true) {
+            for(int i = low; i <= high; i++) {
+                count[digit(array[i], d) + 2]++;
+            }
+            int shared = shared(count, length);
+            if(shared < 0) {
+                break;
+            }
+            if(shared == 1) {
+                // every string has ended, they are all equal
+                return;
+            }
+            // every string has the same digit, distributing would move nothing
+            Arrays.fill(count, 0);
+            d++;
+        }
+        for(int r = 0; r < RADIX + 1; r++) {
+            count[r + 1] += count[r];
+        }
+        for(int i = low; i <= high; i++) {
+            aux[count[digit(array[i], d) + 1]++] = array[i];
+        }
+        System.arraycopy(aux, 0, array, low, length);
+
+        // strings that have ended are already in place
+        for(int r = 0; r < RADIX; r++) {
+            sort(array, aux, low + count[r], low + count[r + 1] - 1, d + 1);
+        }
+    }
+
+    /**
+     * @return index of the count holding all length strings, -1 if there is none
+     */
+    private static int shared(int[] count, int length) {
+        for(int r = 1; r < RADIX + 2; r++) {
+            if(count[r] == length) {
+                return r;
+            }
+            if(count[r] != 0) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * d-th digit of s, high byte of a char comes first
+     * -1 if s has no more character
+     */
+    private static int digit(String s, int d) {
+        int index = d >>> 1;
+        if(index >= s.length()) {
+            return -1;
+        }
+        char c = s.charAt(index);
+        return (d & 1) == 0 ? c >>> BITS : c & (RADIX - 1);
+    }
+
+    public static void main(String[] args) {
+        String[] array = {"she", "sells", "seashells", "by", "the", "sea", "shore",
+                "the", "shells", "she", "sells", "are", "surely", "seashells"};
+        sort(array);
+        System.out.println("array: " + Arrays.toString(array));
+        assert  Sort.isOrdered(array, String::compareTo);
+    }
+}
@@ -22,7 +22,7 @@ public class Merge implements Sort {
 
         int mid = low + (high - low) / 2;
         sort(array, low, mid, comparator);
-        sort(array, mid, high, comparator);
+        sort(array, mid + 1, high, comparator);
         merge(array, low, mid, high, comparator);
     }
 
@@ -36,13 +36,96 @@ public class Merge implements Sort {
 
         int i = low;
         int j = middle + 1;
-        T[] aux = Arrays.copyOf(array, array.length);
+        // copy only the range being merged
+        T[] aux = Arrays.copyOfRange(array, low, high + 1);
+        for(int k = low; k <= high; k++) {
+            if(i > middle) {
+                array[k] = aux[j++ - low];
+            } else if(j > high) {
+                array[k] = aux[i++ - low];
+            } else if(comparator.compare(aux[j - low], aux[i - low]) < 0) {
+                array[k] = aux[j++ - low];
+            } else {
+                array[k] = aux[i++ - low];
+            }
+        }
+    }
+
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        if(array.length < 2) {
+            return;
+        }
+        sort(array, new int[array.length], 0, array.length - 1);
+    }
+
+    private static void sort(int[] array, int[] aux, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int mid = low + (high - low) / 2;
+        sort(array, aux, low, mid);
+        sort(array, aux, mid + 1, high);
+        if(array[mid] <= array[mid + 1]) {
+            // two halves are already in order
+            return;
+        }
+        merge(array, aux, low, mid, high);
+    }
+
+    private static void merge(int[] array, int[] aux, int low, int middle, int high) {
+        System.arraycopy(array, low, aux, low, high - low + 1);
+        int i = low;
+        int j = middle + 1;
+        for(int k = low; k <= high; k++) {
+            if(i > middle) {
+                array[k] = aux[j++];
+            } else if(j > high) {
+                array[k] = aux[i++];
+            } else if(aux[j] < aux[i]) {
+                array[k] = aux[j++];
+            } else {
+                array[k] = aux[i++];
+            }
+        }
+    }
+
+    public static void sort(long[] array) {
+        if(array.length < 2) {
+            return;
+        }
+        sort(array, new long[array.length], 0, array.length - 1);
+    }
+
+    private static void sort(long[] array, long[] aux, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int mid = low + (high - low) / 2;
+        sort(array, aux, low, mid);
+        sort(array, aux, mid + 1, high);
+        if(array[mid] <= array[mid + 1]) {
+            // two halves are already in order
+            return;
+        }
+        merge(array, aux, low, mid, high);
+    }
+
+    private static void merge(long[] array, long[] aux, int low, int middle, int high) {
+        System.arraycopy(array, low, aux, low, high - low + 1);
+        int i = low;
+        int j = middle + 1;
         for(int k = low; k <= high; k++) {
             if(i > middle) {
                 array[k] = aux[j++];
             } else if(j > high) {
                 array[k] = aux[i++];
-            } else if(comparator.compare(aux[j], aux[i]) < 0) {
+            } else if(aux[j] < aux[i]) {
                 array[k] = aux[j++];
             } else {
                 array[k] = aux[i++];
@@ -50,4 +133,43 @@ public class Merge implements Sort {
         }
     }
 
+    public static void sort(double[] array) {
+        if(array.length < 2) {
+            return;
+        }
+        sort(array, new double[array.length], 0, array.length - 1);
+    }
+
+    private static void sort(double[] array, double[] aux, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int mid = low + (high - low) / 2;
+        sort(array, aux, low, mid);
+        sort(array, aux, mid + 1, high);
+        if(Double.compare(array[mid], array[mid + 1]) <= 0) {
+            // two halves are already in order
+            return;
+        }
+        merge(array, aux, low, mid, high);
+    }
+
+    private static void merge(double[] array, double[] aux, int low, int middle, int high) {
+        System.arraycopy(array, low, aux, low, high - low + 1);
+        int i = low;
+        int j = middle + 1;
+        for(int k = low; k <= high; k++) {
+            if(i > middle) {
+                array[k] = aux[j++];
+            } else if(j > high) {
+                array[k] = aux[i++];
+            } else if(Double.compare(aux[j], aux[i]) < 0) {
+                array[k] = aux[j++];
+            } else {
+                array[k] = aux[i++];
+            }
+        }
+    }
 }
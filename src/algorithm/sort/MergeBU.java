@@ -5,17 +5,106 @@ import java.util.Comparator;
 
 public class MergeBU  implements Sort {
 
+    /**
+     * allocate one auxiliary array for the whole sort
+     * each pass merges runs from one array into the other
+     * @param array array to be sorted
+     * @param comparator comparator
+     * @param <T> element type
+     */
     public static <T> void sort(T[] array, Comparator<T> comparator) {
-        for(int size = 1; size < array.length; size = size + size) {
-            for(int low = 0; low < array.length - size; low += size + size) {
-                merge(array,
+        if(array.length < 2) {
+            return;
+        }
+        sortInto(Arrays.copyOf(array, array.length), array, comparator);
+    }
+
+    /**
+     * sort elements of src into dst[0...src.length - 1]
+     * src is used as the auxiliary array,
+     * its content is undefined after sort,
+     * so callers can supply pooled buffers for both arrays
+     * @param src elements to be sorted, overwritten during sort
+     * @param dst receive sorted elements, length must be at least src.length
+     * @param comparator comparator
+     * @param <T> element type
+     */
+    public static <T> void sortInto(T[] src, T[] dst, Comparator<T> comparator) {
+        if(src == dst) {
+            throw new IllegalArgumentException("src and dst must be different arrays");
+        }
+        int length = src.length;
+        if(dst.length < length) {
+            throw new IllegalArgumentException("dst is too small, src length: "
+                    + length + ", dst length: " + dst.length);
+        }
+
+        T[] from = src;
+        T[] to = dst;
+        for(int size = 1; size < length; size = size + size) {
+            if(Instrument.ENABLED) {
+                Instrument.phase("pass " + size);
+            }
+            for(int low = 0; low < length; low += size + size) {
+                merge(from,
+                        to,
                         low,
-                        low + size - 1,
-                        Math.min(low + size + size - 1, array.length - 1),
+                        Math.min(low + size, length) - 1,
+                        Math.min(low + size + size, length) - 1,
                         comparator);
             }
+            // merged runs of this pass become input of next pass
+            T[] temp = from;
+            from = to;
+            to = temp;
         }
 
+        if(from != dst) {
+            if(Instrument.ENABLED) {
+                Instrument.move(length);
+            }
+            System.arraycopy(from, 0, dst, 0, length);
+        }
+    }
+
+    /**
+     * merge from[low...middle] and from[middle+1...high] into to[low...high]
+     */
+    private static <T> void merge(T[] from,
+                                  T[] to,
+                                  int low,
+                                  int middle,
+                                  int high,
+                                  Comparator<T> comparator) {
+        if(Instrument.ENABLED) {
+            Instrument.move(high - low + 1);
+        }
+        if(middle >= high || compare(from[middle], from[middle + 1], comparator) <= 0) {
+            // second run is empty or two runs are already in order
+            System.arraycopy(from, low, to, low, high - low + 1);
+            return;
+        }
+
+        int i = low;
+        int j = middle + 1;
+        for(int k = low; k <= high; k++) {
+            if(i > middle) {
+                to[k] = from[j++];
+            } else if(j > high) {
+                to[k] = from[i++];
+            } else if(compare(from[j], from[i], comparator) < 0) {
+                to[k] = from[j++];
+            } else {
+                to[k] = from[i++];
+            }
+        }
+    }
+
+    private static <T> int compare(T a, T b, Comparator<T> comparator) {
+        if(Instrument.ENABLED) {
+            Instrument.compare();
+        }
+        return comparator.compare(a, b);
     }
 
     public static <T> void merge(T[] array,
@@ -28,16 +117,17 @@ public class MergeBU  implements Sort {
 
         int i = low;
         int j = middle + 1;
-        T[] aux = Arrays.copyOf(array, array.length);
+        // copy only the range being merged
+        T[] aux = Arrays.copyOfRange(array, low, high + 1);
         for(int k = low; k <= high; k++) {
             if(i > middle) {
-                array[k] = aux[j++];
+                array[k] = aux[j++ - low];
             } else if(j > high) {
-                array[k] = aux[i++];
-            } else if(comparator.compare(aux[j], aux[i]) < 0) {
-                array[k] = aux[j++];
+                array[k] = aux[i++ - low];
+            } else if(comparator.compare(aux[j - low], aux[i - low]) < 0) {
+                array[k] = aux[j++ - low];
             } else {
-                array[k] = aux[i++];
+                array[k] = aux[i++ - low];
             }
         }
     }
@@ -0,0 +1,310 @@
+package algorithm.sort;
+
+import java.util.Comparator;
+
+/**
+ * natural merge sort, a simplified tim sort
+ * array is scanned for runs that are already in order,
+ * strictly descending runs are reversed,
+ * runs shorter than minimum run length are extended by insertion sort,
+ * runs are kept on a stack and merged so that lengths of runs on the stack
+ * grow like fibonacci numbers, which keeps merges balanced
+ * merges start by galloping over the parts of two runs that are already in place,
+ * then switch to galloping mode when one run keeps winning
+ * N compares on ordered input, N * log(N) in worst case, stable
+ */
+public class NaturalMerge implements Sort {
+
+    public static final int MIN_MERGE = 32;
+    public static final int MIN_GALLOP = 7;
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, 0, array.length - 1, comparator);
+    }
+
+    /**
+     * sort array[low...high], both bounds included
+     */
+    public static <T> void sort(T[] array, int low, int high, Comparator<T> comparator) {
+        int remaining = high - low + 1;
+        if(remaining < 2) {
+            return;
+        }
+        if(remaining < MIN_MERGE) {
+            // one run, extended to the whole range
+            countRun(array, low, high, comparator);
+            Insertion.sort(array, low, high, comparator);
+            return;
+        }
+
+        Runs<T> runs = new Runs<>(array, comparator);
+        int minRun = minRun(remaining);
+        do {
+            int length = countRun(array, low, high, comparator) - low;
+            if(length < minRun) {
+                int force = Math.min(remaining, minRun);
+                Insertion.sort(array, low, low + force - 1, comparator);
+                length = force;
+            }
+            runs.push(low, length);
+            runs.collapse();
+
+            low += length;
+            remaining -= length;
+        } while (remaining != 0);
+        runs.forceCollapse();
+    }
+
+    /**
+     * minimum run length k, MIN_MERGE / 2 <= k <= MIN_MERGE,
+     * chosen so that length / k is close to but not more than a power of 2
+     */
+    private static int minRun(int length) {
+        int r = 0;
+        while (length >= MIN_MERGE) {
+            r |= (length & 1);
+            length >>= 1;
+        }
+        return length + r;
+    }
+
+    /**
+     * find the run starting at array[low], reverse it if it is strictly descending
+     * @return index after the last element of the run
+     */
+    private static <T> int countRun(T[] array, int low, int high, Comparator<T> comparator) {
+        int end = low + 1;
+        if(end > high) {
+            return end;
+        }
+        if(comparator.compare(array[end++], array[low]) < 0) {
+            // strictly descending, so reversing keeps it stable
+            while (end <= high && comparator.compare(array[end], array[end - 1]) < 0) {
+                end++;
+            }
+            for(int i = low, j = end - 1; i < j; i++, j--) {
+                Sort.exchange(array, i, j);
+            }
+        } else {
+            while (end <= high && comparator.compare(array[end], array[end - 1]) >= 0) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * number of leading elements in array[base...base + length - 1]
+     * that are less than key, or not greater than key when inclusive is true
+     * exponential search from base, then binary search
+     */
+    private static <T> int gallop(T key,
+                                  T[] array,
+                                  int base,
+                                  int length,
+                                  boolean inclusive,
+                                  Comparator<T> comparator) {
+        int low = 0;
+        int offset = 0;
+        while (offset < length && before(array[base + offset], key, inclusive, comparator)) {
+            low = offset + 1;
+            offset = 2 * offset + 1;
+            if(offset < 0) { // int overflow
+                offset = length;
+            }
+        }
+        int high = Math.min(offset, length);
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(before(array[base + middle], key, inclusive, comparator)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static <T> boolean before(T item, T key, boolean inclusive, Comparator<T> comparator) {
+        int cmp = comparator.compare(item, key);
+        return inclusive ? cmp <= 0 : cmp < 0;
+    }
+
+    /**
+     * stack of pending runs and merge buffer of one sort
+     */
+    private static class Runs<T> {
+        private final T[] array;
+        private final Comparator<T> comparator;
+        private final int[] base = new int[49];
+        private final int[] length = new int[49];
+        private int size = 0;
+        private T[] aux;
+
+        Runs(T[] array, Comparator<T> comparator) {
+            this.array = array;
+            this.comparator = comparator;
+        }
+
+        void push(int runBase, int runLength) {
+            base[size] = runBase;
+            length[size] = runLength;
+            size++;
+        }
+
+        /**
+         * merge runs until for every i on the stack
+         * length[i - 2] > length[i - 1] + length[i] and length[i - 1] > length[i]
+         */
+        void collapse() {
+            while (size > 1) {
+                int n = size - 2;
+                if((n > 0 && length[n - 1] <= length[n] + length[n + 1])
+                        || (n > 1 && length[n - 2] <= length[n] + length[n - 1])) {
+                    if(length[n - 1] < length[n + 1]) {
+                        n--;
+                    }
+                } else if(length[n] > length[n + 1]) {
+                    break;
+                }
+                mergeAt(n);
+            }
+        }
+
+        void forceCollapse() {
+            while (size > 1) {
+                int n = size - 2;
+                if(n > 0 && length[n - 1] < length[n + 1]) {
+                    n--;
+                }
+                mergeAt(n);
+            }
+        }
+
+        /**
+         * merge run i and run i + 1
+         */
+        private void mergeAt(int i) {
+            int base1 = base[i];
+            int length1 = length[i];
+            int base2 = base[i + 1];
+            int length2 = length[i + 1];
+
+            length[i] = length1 + length2;
+            if(i == size - 3) {
+                base[i + 1] = base[i + 2];
+                length[i + 1] = length[i + 2];
+            }
+            size--;
+
+            // elements of run 1 not greater than first element of run 2 are in place
+            int k = gallop(array[base2], array, base1, length1, true, comparator);
+            base1 += k;
+            length1 -= k;
+            if(length1 == 0) {
+                return;
+            }
+            // elements of run 2 not less than last element of run 1 are in place
+            length2 = gallop(array[base1 + length1 - 1], array, base2, length2, false, comparator);
+            if(length2 == 0) {
+                return;
+            }
+            merge(base1, length1, base2, length2);
+        }
+
+        /**
+         * copy run 1 to aux, then merge aux and run 2 from left to right
+         */
+        @SuppressWarnings("unchecked")
+        private void merge(int base1, int length1, int base2, int length2) {
+            if(aux == null || aux.length < length1) {
+                // never leaves this class, so an Object array is fine
+                int capacity = aux == null ? length1 : Math.max(length1, aux.length * 2);
+                aux = (T[]) new Object[Math.min(capacity, array.length)];
+            }
+            System.arraycopy(array, base1, aux, 0, length1);
+
+            int cursor1 = 0;
+            int cursor2 = base2;
+            int dest = base1;
+            int end1 = length1;
+            int end2 = base2 + length2;
+            int minGallop = MIN_GALLOP;
+
+            outer:
+            while (true) {
+                int count1 = 0; // times run 1 won in a row
+                int count2 = 0; // times run 2 won in a row
+
+                // one element at a time until one run starts winning consistently
+                do {
+                    if(comparator.compare(array[cursor2], aux[cursor1]) < 0) {
+                        array[dest++] = array[cursor2++];
+                        count2++;
+                        count1 = 0;
+                        if(cursor2 == end2) {
+                            break outer;
+                        }
+                    } else {
+                        array[dest++] = aux[cursor1++];
+                        count1++;
+                        count2 = 0;
+                        if(cursor1 == end1) {
+                            break outer;
+                        }
+                    }
+                } while ((count1 | count2) < minGallop);
+
+                // galloping mode, move whole blocks
+                do {
+                    count1 = gallop(array[cursor2], aux, cursor1, end1 - cursor1, true, comparator);
+                    if(count1 != 0) {
+                        System.arraycopy(aux, cursor1, array, dest, count1);
+                        dest += count1;
+                        cursor1 += count1;
+                        if(cursor1 == end1) {
+                            break outer;
+                        }
+                    }
+                    array[dest++] = array[cursor2++];
+                    if(cursor2 == end2) {
+                        break outer;
+                    }
+
+                    count2 = gallop(aux[cursor1], array, cursor2, end2 - cursor2, false, comparator);
+                    if(count2 != 0) {
+                        System.arraycopy(array, cursor2, array, dest, count2);
+                        dest += count2;
+                        cursor2 += count2;
+                        if(cursor2 == end2) {
+                            break outer;
+                        }
+                    }
+                    array[dest++] = aux[cursor1++];
+                    if(cursor1 == end1) {
+                        break outer;
+                    }
+                    minGallop--;
+                } while (count1 >= MIN_GALLOP || count2 >= MIN_GALLOP);
+
+                // penalize leaving galloping mode
+                minGallop = Math.max(minGallop, 0) + 2;
+            }
+
+            // rest of run 2 is already in place
+            if(cursor1 < end1) {
+                System.arraycopy(aux, cursor1, array, dest, end1 - cursor1);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = new Integer[100000];
+        for(int i = 0; i < array.length; i++) {
+            array[i] = i % 1000 == 0 ? -i : i;
+        }
+        sort(array, Integer::compareTo);
+        System.out.println("ordered: " + Sort.isOrdered(array, Integer::compareTo));
+        assert  Sort.isOrdered(array, Integer::compareTo);
+    }
+}
@@ -0,0 +1,144 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+
+/**
+ * sorting network kernels for small primitive ranges
+ * network of each size is generated once by batcher's merge exchange,
+ * knuth 5.2.2 algorithm M, and stored as a flat array of comparator pairs
+ * comparators do not depend on data, so there is no unpredictable branch,
+ * int and long compare exchange is Math.min and Math.max,
+ * which compile to conditional moves
+ * used as base case of the primitive Quick and Merge
+ * not stable
+ */
+public class Network {
+
+    public static final int CUTOFF = 32;
+
+    /**
+     * NETWORKS[n] holds comparator pairs i0, j0, i1, j1 ... for n elements
+     */
+    private static final int[][] NETWORKS = new int[CUTOFF + 1][];
+
+    static {
+        for(int size = 2; size <= CUTOFF; size++) {
+            NETWORKS[size] = generate(size);
+        }
+    }
+
+    /**
+     * compare exchange (i, i + d) for every i < size - d with i & p == r,
+     * for the sequence of p, q, r and d of algorithm M
+     */
+    private static int[] generate(int size) {
+        int[] pairs = new int[size * size * 2];
+        int count = 0;
+        int t = 32 - Integer.numberOfLeadingZeros(size - 1);
+        for(int p = 1 << (t - 1); p > 0; p >>= 1) {
+            int q = 1 << (t - 1);
+            int r = 0;
+            int d = p;
+            while (true) {
+                for(int i = 0; i < size - d; i++) {
+                    if((i & p) == r) {
+                        pairs[count++] = i;
+                        pairs[count++] = i + d;
+                    }
+                }
+                if(q == p) {
+                    break;
+                }
+                d = q - p;
+                q >>= 1;
+                r = p;
+            }
+        }
+        return Arrays.copyOf(pairs, count);
+    }
+
+    private static int[] network(int size) {
+        if(size > CUTOFF) {
+            throw new IllegalArgumentException("network sorts at most " + CUTOFF + " elements, size: " + size);
+        }
+        return NETWORKS[size];
+    }
+
+    public static void sort(int[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    /**
+     * sort array[low...high], at most CUTOFF elements
+     */
+    public static void sort(int[] array, int low, int high) {
+        int size = high - low + 1;
+        if(size < 2) {
+            return;
+        }
+        int[] network = network(size);
+        for(int k = 0; k < network.length; k += 2) {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            int a = array[i];
+            int b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    public static void sort(long[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    /**
+     * sort array[low...high], at most CUTOFF elements
+     */
+    public static void sort(long[] array, int low, int high) {
+        int size = high - low + 1;
+        if(size < 2) {
+            return;
+        }
+        int[] network = network(size);
+        for(int k = 0; k < network.length; k += 2) {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            long a = array[i];
+            long b = array[j];
+            array[i] = Math.min(a, b);
+            array[j] = Math.max(a, b);
+        }
+    }
+
+    public static void sort(double[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    /**
+     * sort array[low...high], at most CUTOFF elements
+     */
+    public static void sort(double[] array, int low, int high) {
+        int size = high - low + 1;
+        if(size < 2) {
+            return;
+        }
+        int[] network = network(size);
+        for(int k = 0; k < network.length; k += 2) {
+            int i = low + network[k];
+            int j = low + network[k + 1];
+            double a = array[i];
+            double b = array[j];
+            // Math.min does not order NaN and -0.0 like Double.compare
+            boolean swap = Double.compare(a, b) > 0;
+            array[i] = swap ? b : a;
+            array[j] = swap ? a : b;
+        }
+    }
+
+    public static void main(String[] args) {
+        int[] array = Sort.generateInt(CUTOFF);
+        sort(array);
+        System.out.println("array: " + Arrays.toString(array));
+        assert  Sort.isOrdered(array);
+    }
+}
@@ -0,0 +1,209 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * fork join merge sort
+ * array is split in half until sub array is smaller than
+ * SEQUENTIAL_THRESHOLD, then the sub array is sorted in current thread
+ * sub array smaller than INSERTION_CUTOFF is sorted by insertion sort
+ * large merges are split again by binary search so that
+ * the top level merge does not run on a single core
+ * only one auxiliary array is allocated per sort
+ * sort is stable
+ */
+public class ParallelMerge implements Sort {
+
+    public static final int INSERTION_CUTOFF = 16;
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, comparator, ForkJoinPool.commonPool());
+    }
+
+    public static <T> void sort(T[] array, Comparator<T> comparator, ForkJoinPool pool) {
+        if(array.length < 2) {
+            return;
+        }
+        // shared by every task, tasks only touch aux[low...high] of their own range
+        T[] aux = Arrays.copyOf(array, array.length);
+        if(array.length <= SEQUENTIAL_THRESHOLD) {
+            sort(array, aux, 0, array.length - 1, comparator);
+            return;
+        }
+        pool.invoke(new SortTask<>(array, aux, 0, array.length - 1, comparator));
+    }
+
+    /**
+     * sequential top down merge sort of array[low...high]
+     */
+    private static <T> void sort(T[] array, T[] aux, int low, int high, Comparator<T> comparator) {
+        if(high - low < INSERTION_CUTOFF) {
+            Insertion.sort(array, low, high, comparator);
+            return;
+        }
+
+        int middle = low + (high - low) / 2;
+        sort(array, aux, low, middle, comparator);
+        sort(array, aux, middle + 1, high, comparator);
+        if(comparator.compare(array[middle], array[middle + 1]) <= 0) {
+            // array[low...high] is already in order
+            return;
+        }
+        System.arraycopy(array, low, aux, low, high - low + 1);
+        merge(aux, low, middle, middle + 1, high, array, low, comparator);
+    }
+
+    /**
+     * merge aux[lowA...highA] and aux[lowB...highB] into array[to...]
+     * equal elements of the first run are placed before the second run
+     */
+    private static <T> void merge(T[] aux,
+                                  int lowA,
+                                  int highA,
+                                  int lowB,
+                                  int highB,
+                                  T[] array,
+                                  int to,
+                                  Comparator<T> comparator) {
+        int i = lowA;
+        int j = lowB;
+        int k = to;
+        while (i <= highA && j <= highB) {
+            if(comparator.compare(aux[j], aux[i]) < 0) {
+                array[k++] = aux[j++];
+            } else {
+                array[k++] = aux[i++];
+            }
+        }
+        if(i <= highA) {
+            System.arraycopy(aux, i, array, k, highA - i + 1);
+        } else if(j <= highB) {
+            System.arraycopy(aux, j, array, k, highB - j + 1);
+        }
+    }
+
+    /**
+     * first index in aux[low...high] whose element is not less than key
+     * (or greater than key when strict is true)
+     * return high + 1 if there is no such element
+     */
+    private static <T> int search(T[] aux, int low, int high, T key, boolean strict, Comparator<T> comparator) {
+        high++;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int cmp = comparator.compare(aux[middle], key);
+            if(cmp < 0 || (strict && cmp == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @SuppressWarnings("serial")
+    private static class SortTask<T> extends RecursiveAction {
+        private final T[] array;
+        private final T[] aux;
+        private final int low;
+        private final int high;
+        private final Comparator<T> comparator;
+
+        SortTask(T[] array, T[] aux, int low, int high, Comparator<T> comparator) {
+            this.array = array;
+            this.aux = aux;
+            this.low = low;
+            this.high = high;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            if(high - low < SEQUENTIAL_THRESHOLD) {
+                sort(array, aux, low, high, comparator);
+                return;
+            }
+
+            int middle = low + (high - low) / 2;
+            invokeAll(new SortTask<>(array, aux, low, middle, comparator),
+                    new SortTask<>(array, aux, middle + 1, high, comparator));
+            if(comparator.compare(array[middle], array[middle + 1]) <= 0) {
+                return;
+            }
+            System.arraycopy(array, low, aux, low, high - low + 1);
+            new MergeTask<>(aux, low, middle, middle + 1, high, array, low, comparator).compute();
+        }
+    }
+
+    /**
+     * merge aux[lowA...highA] and aux[lowB...highB] into array[to...]
+     * the larger run is split at its middle element, the other run is
+     * split at the position where that element would be inserted,
+     * then both halves are merged in parallel
+     */
+    @SuppressWarnings("serial")
+    private static class MergeTask<T> extends RecursiveAction {
+        private final T[] aux;
+        private final int lowA;
+        private final int highA;
+        private final int lowB;
+        private final int highB;
+        private final T[] array;
+        private final int to;
+        private final Comparator<T> comparator;
+
+        MergeTask(T[] aux,
+                  int lowA,
+                  int highA,
+                  int lowB,
+                  int highB,
+                  T[] array,
+                  int to,
+                  Comparator<T> comparator) {
+            this.aux = aux;
+            this.lowA = lowA;
+            this.highA = highA;
+            this.lowB = lowB;
+            this.highB = highB;
+            this.array = array;
+            this.to = to;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected void compute() {
+            int lengthA = highA - lowA + 1;
+            int lengthB = highB - lowB + 1;
+            if(lengthA + lengthB <= SEQUENTIAL_THRESHOLD) {
+                merge(aux, lowA, highA, lowB, highB, array, to, comparator);
+                return;
+            }
+
+            int splitA;
+            int splitB;
+            if(lengthA >= lengthB) {
+                // elements of b equal to the pivot go after it
+                splitA = lowA + lengthA / 2;
+                splitB = search(aux, lowB, highB, aux[splitA], false, comparator);
+            } else {
+                // elements of a equal to the pivot go before it
+                splitB = lowB + lengthB / 2;
+                splitA = search(aux, lowA, highA, aux[splitB], true, comparator);
+            }
+            int split = to + (splitA - lowA) + (splitB - lowB);
+            invokeAll(new MergeTask<>(aux, lowA, splitA - 1, lowB, splitB - 1, array, to, comparator),
+                    new MergeTask<>(aux, splitA, highA, splitB, highB, array, split, comparator));
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = Sort.generate(100000);
+        sort(array, Integer::compareTo);
+        System.out.println("ordered: " + Sort.isOrdered(array, Integer::compareTo));
+        assert  Sort.isOrdered(array, Integer::compareTo);
+    }
+}
@@ -16,11 +16,17 @@ public class Quick {
             return;
         }
 
+        if(Instrument.ENABLED) {
+            Instrument.enter();
+        }
         int j = partition(array, low, high);
         // algorithm.sort lower part of array
         sort(array, low, j - 1);
         // algorithm.sort higher part of array
         sort(array, j + 1, high);
+        if(Instrument.ENABLED) {
+            Instrument.exit();
+        }
     }
 
     public static <T extends Comparable<T>> int partition(T[] array,
@@ -32,7 +38,7 @@ public class Quick {
         T item = array[low]; // partition item
         while (true) {
             // search element bigger than item
-            while (array[++i].compareTo(item) < 0) {
+            while (compare(array[++i], item) < 0) {
                 if(i == high) { // prevent index out of bounds
                     break;
                 }
@@ -42,7 +48,7 @@ public class Quick {
             // 1 2 3 4 5
 
             // search element less than item
-            while (item.compareTo(array[--j]) < 0) {
+            while (compare(item, array[--j]) < 0) {
                 if(j == low) { // prevent index out of bounds
                     // this is redundant
                     // array[low] could never less than itself
@@ -64,11 +70,149 @@ public class Quick {
             }
 
             // swap element
+            if(Instrument.ENABLED) {
+                Instrument.swap();
+            }
             T temp = array[i];
             array[i] = array[j];
             array[j] = temp;
         }
 
+        if(Instrument.ENABLED) {
+            Instrument.swap();
+        }
+        array[low] = array[j];
+        array[j] = item;
+        return j;
+    }
+
+    private static <T extends Comparable<T>> int compare(T a, T b) {
+        if(Instrument.ENABLED) {
+            Instrument.compare();
+        }
+        return a.compareTo(b);
+    }
+
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(int[] array, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int j = partition(array, low, high);
+        sort(array, low, j - 1);
+        sort(array, j + 1, high);
+    }
+
+    public static int partition(int[] array, int low, int high) {
+        int i = low;
+        int j = high + 1;
+        int item = array[low];
+        while (true) {
+            while (array[++i] < item) {
+                if(i == high) {
+                    break;
+                }
+            }
+            while (item < array[--j]) {
+                if(j == low) {
+                    break;
+                }
+            }
+            if(i >= j) {
+                break;
+            }
+            Sort.exchange(array, i, j);
+        }
+
+        array[low] = array[j];
+        array[j] = item;
+        return j;
+    }
+
+    public static void sort(long[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(long[] array, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int j = partition(array, low, high);
+        sort(array, low, j - 1);
+        sort(array, j + 1, high);
+    }
+
+    public static int partition(long[] array, int low, int high) {
+        int i = low;
+        int j = high + 1;
+        long item = array[low];
+        while (true) {
+            while (array[++i] < item) {
+                if(i == high) {
+                    break;
+                }
+            }
+            while (item < array[--j]) {
+                if(j == low) {
+                    break;
+                }
+            }
+            if(i >= j) {
+                break;
+            }
+            Sort.exchange(array, i, j);
+        }
+
+        array[low] = array[j];
+        array[j] = item;
+        return j;
+    }
+
+    public static void sort(double[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    public static void sort(double[] array, int low, int high) {
+        if(high - low < Network.CUTOFF) {
+            Network.sort(array, low, high);
+            return;
+        }
+
+        int j = partition(array, low, high);
+        sort(array, low, j - 1);
+        sort(array, j + 1, high);
+    }
+
+    public static int partition(double[] array, int low, int high) {
+        int i = low;
+        int j = high + 1;
+        double item = array[low];
+        while (true) {
+            while (Double.compare(array[++i], item) < 0) {
+                if(i == high) {
+                    break;
+                }
+            }
+            while (Double.compare(item, array[--j]) < 0) {
+                if(j == low) {
+                    break;
+                }
+            }
+            if(i >= j) {
+                break;
+            }
+            Sort.exchange(array, i, j);
+        }
+
         array[low] = array[j];
         array[j] = item;
         return j;
@@ -0,0 +1,89 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+
+/**
+ * three way string quick sort
+ * partition on the d-th character, equal part moves on to character d + 1
+ * strings with long common prefixes are compared only once per character
+ * not stable
+ */
+public class Quick3String {
+
+    public static final int INSERTION_CUTOFF = 15;
+
+    public static void sort(String[] array) {
+        sort(array, 0, array.length - 1, 0);
+    }
+
+    /**
+     * sort array[low...high], first d characters of these strings are equal
+     */
+    public static void sort(String[] array, int low, int high, int d) {
+        if(high - low < INSERTION_CUTOFF) {
+            insertion(array, low, high, d);
+            return;
+        }
+
+        int less = low;
+        int i = low + 1;
+        int greater = high;
+        int v = charAt(array[low], d);
+
+        while (i <= greater) {
+            int t = charAt(array[i], d);
+            if(t < v) {
+                Sort.exchange(array, less++, i++);
+            } else if(t > v) {
+                Sort.exchange(array, i, greater--);
+            } else {
+                i++;
+            }
+        }
+        // array[low...less - 1] < v = array[less...greater] < array[greater + 1...high]
+        sort(array, low, less - 1, d);
+        if(v >= 0) {
+            sort(array, less, greater, d + 1);
+        }
+        sort(array, greater + 1, high, d);
+    }
+
+    /**
+     * d-th character of s, -1 if s has no more character
+     */
+    static int charAt(String s, int d) {
+        return d < s.length() ? s.charAt(d) : -1;
+    }
+
+    private static void insertion(String[] array, int low, int high, int d) {
+        for(int i = low + 1; i <= high; i++) {
+            String key = array[i];
+            int j;
+            for(j = i; j > low && less(key, array[j - 1], d); j--) {
+                array[j] = array[j - 1];
+            }
+            array[j] = key;
+        }
+    }
+
+    /**
+     * compare a and b from their d-th character
+     */
+    private static boolean less(String a, String b, int d) {
+        int length = Math.min(a.length(), b.length());
+        for(int i = d; i < length; i++) {
+            if(a.charAt(i) != b.charAt(i)) {
+                return a.charAt(i) < b.charAt(i);
+            }
+        }
+        return a.length() < b.length();
+    }
+
+    public static void main(String[] args) {
+        String[] array = {"she", "sells", "seashells", "by", "the", "sea", "shore",
+                "the", "shells", "she", "sells", "are", "surely", "seashells"};
+        sort(array);
+        System.out.println("array: " + Arrays.toString(array));
+        assert  Sort.isOrdered(array, String::compareTo);
+    }
+}
@@ -1,6 +1,13 @@
 package algorithm.sort;
 
+import java.util.Comparator;
+
 public class Quick3Way {
+
+    public static <T extends Comparable<T>> void sort(T[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
     private static <T extends Comparable<T>> void sort(T[] array, int low, int high) {
         if(low >= high) {
             return;
@@ -29,4 +36,140 @@ public class Quick3Way {
         sort(array, low, less - 1);
         sort(array, greater + 1, high);
     }
+
+    /**
+     * pivot is the median of first, middle and last element,
+     * so ordered parts do not make partitions unbalanced
+     * recursion goes into the smaller part and loops on the larger one,
+     * past 2 * log(N) partitions the range is heap sorted like Intro,
+     * so stack depth is log(N) and worst case is N * log(N)
+     */
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        if(array.length < 2) {
+            return;
+        }
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(array.length));
+        sort(array, 0, array.length - 1, depth, comparator);
+    }
+
+    private static <T> void sort(T[] array, int low, int high, int depth, Comparator<T> comparator) {
+        while (low < high) {
+            if(depth-- == 0) {
+                // partitions are too unbalanced
+                Heap.sort(array, low, high, comparator);
+                return;
+            }
+
+            Sort.exchange(array, low, Intro.median(array, low, low + (high - low) / 2, high, comparator));
+            int less = low;
+            int i = low + 1;
+            int greater = high;
+            T v = array[low];
+
+            while (i <= greater) {
+                int cmp = comparator.compare(array[i], v);
+                if(cmp < 0) {
+                    Sort.exchange(array, less++, i++);
+                } else if(cmp > 0) {
+                    Sort.exchange(array, i, greater--);
+                } else {
+                    i++;
+                }
+            }
+            // array[low...less - 1] < v = array[less...greater] < array[greater + 1...high]
+            if(less - low < high - greater) {
+                sort(array, low, less - 1, depth, comparator);
+                low = greater + 1;
+            } else {
+                sort(array, greater + 1, high, depth, comparator);
+                high = less - 1;
+            }
+        }
+    }
+
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    private static void sort(int[] array, int low, int high) {
+        if(low >= high) {
+            return;
+        }
+
+        int less = low;
+        int i = low + 1;
+        int greater = high;
+        int v = array[low];
+
+        while (i <= greater) {
+            int cmp = Integer.compare(array[i], v);
+            if(cmp < 0) {
+                Sort.exchange(array, less++, i++);
+            } else if(cmp > 0) {
+                Sort.exchange(array, i, greater--);
+            } else {
+                i++;
+            }
+        }
+        sort(array, low, less - 1);
+        sort(array, greater + 1, high);
+    }
+
+    public static void sort(long[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    private static void sort(long[] array, int low, int high) {
+        if(low >= high) {
+            return;
+        }
+
+        int less = low;
+        int i = low + 1;
+        int greater = high;
+        long v = array[low];
+
+        while (i <= greater) {
+            int cmp = Long.compare(array[i], v);
+            if(cmp < 0) {
+                Sort.exchange(array, less++, i++);
+            } else if(cmp > 0) {
+                Sort.exchange(array, i, greater--);
+            } else {
+                i++;
+            }
+        }
+        sort(array, low, less - 1);
+        sort(array, greater + 1, high);
+    }
+
+    public static void sort(double[] array) {
+        sort(array, 0, array.length - 1);
+    }
+
+    private static void sort(double[] array, int low, int high) {
+        if(low >= high) {
+            return;
+        }
+
+        int less = low;
+        int i = low + 1;
+        int greater = high;
+        double v = array[low];
+
+        while (i <= greater) {
+            int cmp = Double.compare(array[i], v);
+            if(cmp < 0) {
+                Sort.exchange(array, less++, i++);
+            } else if(cmp > 0) {
+                Sort.exchange(array, i, greater--);
+            } else {
+                i++;
+            }
+        }
+        sort(array, low, less - 1);
+        sort(array, greater + 1, high);
+    }
 }
@@ -0,0 +1,268 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.function.ToIntFunction;
+
+/**
+ * least significant digit first radix sort
+ * keys are split into 8 bit digits, one counting pass per digit,
+ * counts of all digits are collected in a single scan,
+ * passes where every key has the same digit are skipped
+ * sign bit of the most significant digit is flipped so negative keys come first
+ * W * N array accesses where W is the number of digits, stable
+ */
+public class Radix {
+
+    public static final int BITS = 8;
+    public static final int RADIX = 1 << BITS;
+    public static final int MASK = RADIX - 1;
+    public static final int INSERTION_CUTOFF = 64;
+
+    public static void sort(int[] array) {
+        int length = array.length;
+        if(length < INSERTION_CUTOFF) {
+            Insertion.sort(array);
+            return;
+        }
+
+        int digits = Integer.SIZE / BITS;
+        int[][] count = new int[digits][RADIX + 1];
+        for(int item : array) {
+            for(int d = 0; d < digits; d++) {
+                count[d][digit(item, d, digits) + 1]++;
+            }
+        }
+
+        int[] from = array;
+        int[] to = new int[length];
+        for(int d = 0; d < digits; d++) {
+            if(prefix(count[d], length)) {
+                continue;
+            }
+            for(int i = 0; i < length; i++) {
+                to[count[d][digit(from[i], d, digits)]++] = from[i];
+            }
+            int[] temp = from;
+            from = to;
+            to = temp;
+        }
+
+        if(from != array) {
+            System.arraycopy(from, 0, array, 0, length);
+        }
+    }
+
+    public static void sort(long[] array) {
+        int length = array.length;
+        if(length < INSERTION_CUTOFF) {
+            Insertion.sort(array);
+            return;
+        }
+
+        int digits = Long.SIZE / BITS;
+        int[][] count = new int[digits][RADIX + 1];
+        for(long item : array) {
+            for(int d = 0; d < digits; d++) {
+                count[d][digit(item, d, digits) + 1]++;
+            }
+        }
+
+        long[] from = array;
+        long[] to = new long[length];
+        for(int d = 0; d < digits; d++) {
+            if(prefix(count[d], length)) {
+                continue;
+            }
+            for(int i = 0; i < length; i++) {
+                to[count[d][digit(from[i], d, digits)]++] = from[i];
+            }
+            long[] temp = from;
+            from = to;
+            to = temp;
+        }
+
+        if(from != array) {
+            System.arraycopy(from, 0, array, 0, length);
+        }
+    }
+
+    /**
+     * doubles are mapped to longs with the same order, sorted, then mapped back
+     * ordered like Double.compare, NaN payloads are not kept
+     */
+    public static void sort(double[] array) {
+        int length = array.length;
+        if(length < INSERTION_CUTOFF) {
+            Insertion.sort(array);
+            return;
+        }
+
+        long[] keys = new long[length];
+        for(int i = 0; i < length; i++) {
+            keys[i] = key(Double.doubleToLongBits(array[i]));
+        }
+        sort(keys);
+        for(int i = 0; i < length; i++) {
+            // key is its own inverse
+            array[i] = Double.longBitsToDouble(key(keys[i]));
+        }
+    }
+
+    /**
+     * sort keys, values[i] is moved together with keys[i]
+     * @param keys keys to be sorted
+     * @param values payload of keys, same length as keys
+     */
+    public static void sort(long[] keys, int[] values) {
+        if(values.length != keys.length) {
+            throw new IllegalArgumentException("keys and values must have same length, keys: "
+                    + keys.length + ", values: " + values.length);
+        }
+        sort(keys, values, 0, keys.length - 1);
+    }
+
+    /**
+     * sort keys[low...high], values[i] is moved together with keys[i]
+     */
+    public static void sort(long[] keys, int[] values, int low, int high) {
+        int length = high - low + 1;
+        if(length < 2) {
+            return;
+        }
+
+        int digits = Long.SIZE / BITS;
+        int[][] count = new int[digits][RADIX + 1];
+        for(int i = low; i <= high; i++) {
+            for(int d = 0; d < digits; d++) {
+                count[d][digit(keys[i], d, digits) + 1]++;
+            }
+        }
+
+        // from[offset + i] is the i-th pair of the range
+        long[] fromKeys = keys;
+        long[] toKeys = new long[length];
+        int[] from = values;
+        int[] to = new int[length];
+        int fromOffset = low;
+        int toOffset = 0;
+        for(int d = 0; d < digits; d++) {
+            if(prefix(count[d], length)) {
+                continue;
+            }
+            for(int i = 0; i < length; i++) {
+                int index = toOffset + count[d][digit(fromKeys[fromOffset + i], d, digits)]++;
+                toKeys[index] = fromKeys[fromOffset + i];
+                to[index] = from[fromOffset + i];
+            }
+            long[] tempKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = tempKeys;
+            int[] temp = from;
+            from = to;
+            to = temp;
+            int tempOffset = fromOffset;
+            fromOffset = toOffset;
+            toOffset = tempOffset;
+        }
+
+        if(fromKeys != keys) {
+            System.arraycopy(fromKeys, 0, keys, low, length);
+            System.arraycopy(from, 0, values, low, length);
+        }
+    }
+
+    /**
+     * sort array by an int key
+     * keys are extracted once, then keys and elements are moved together
+     * @param array array to be sorted
+     * @param key key extractor
+     * @param <T> element type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] array, ToIntFunction<? super T> key) {
+        int length = array.length;
+        if(length < 2) {
+            return;
+        }
+
+        int digits = Integer.SIZE / BITS;
+        int[][] count = new int[digits][RADIX + 1];
+        int[] keys = new int[length];
+        for(int i = 0; i < length; i++) {
+            keys[i] = key.applyAsInt(array[i]);
+            for(int d = 0; d < digits; d++) {
+                count[d][digit(keys[i], d, digits) + 1]++;
+            }
+        }
+
+        int[] fromKeys = keys;
+        int[] toKeys = new int[length];
+        T[] from = array;
+        // never leaves this class, so an Object array is fine
+        T[] to = (T[]) new Object[length];
+        for(int d = 0; d < digits; d++) {
+            if(prefix(count[d], length)) {
+                continue;
+            }
+            for(int i = 0; i < length; i++) {
+                int index = count[d][digit(fromKeys[i], d, digits)]++;
+                toKeys[index] = fromKeys[i];
+                to[index] = from[i];
+            }
+            int[] tempKeys = fromKeys;
+            fromKeys = toKeys;
+            toKeys = tempKeys;
+            T[] temp = from;
+            from = to;
+            to = temp;
+        }
+
+        if(from != array) {
+            System.arraycopy(from, 0, array, 0, length);
+        }
+    }
+
+    /**
+     * d-th digit of item, counted from the least significant one
+     */
+    private static int digit(int item, int d, int digits) {
+        int digit = (item >>> (d * BITS)) & MASK;
+        return d == digits - 1 ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    private static int digit(long item, int d, int digits) {
+        int digit = (int) (item >>> (d * BITS)) & MASK;
+        return d == digits - 1 ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    /**
+     * flip all but the sign bit of negative doubles,
+     * so bits of doubles compare like the doubles themselves
+     */
+    private static long key(long bits) {
+        return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+    }
+
+    /**
+     * turn counts of digits into start index of each digit
+     * count[r + 1] holds the number of keys whose digit is r
+     * @return true if every key has the same digit,
+     *         which means this pass would not move anything
+     */
+    private static boolean prefix(int[] count, int length) {
+        for(int r = 0; r < RADIX; r++) {
+            if(count[r + 1] == length) {
+                return true;
+            }
+            count[r + 1] += count[r];
+        }
+        return false;
+    }
+
+    public static void main(String[] args) {
+        int[] array = Sort.generateInt(1000);
+        sort(array);
+        System.out.println("array: " + Arrays.toString(Arrays.copyOf(array, 10)));
+        assert  Sort.isOrdered(array);
+    }
+}
@@ -0,0 +1,169 @@
+package algorithm.sort;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * sort fixed width binary records stored in a ByteBuffer, usually a direct one,
+ * without turning them into objects
+ * records are buffer[position...limit), each recordSize bytes,
+ * key is read at keyOffset of every record in the byte order of the buffer
+ * 1. keys are read once into a long array together with record indices
+ * 2. (key, index) pairs are sorted by Radix
+ * 3. records are moved with bulk copies, either in place by rotating
+ *    each cycle of the permutation through one record of scratch space,
+ *    or gathered into another buffer in sorted order
+ * extra memory is 12 bytes per record whatever the record size is, stable
+ */
+public class RecordSort {
+
+    public enum Key {
+        INT(Integer.BYTES), LONG(Long.BYTES), DOUBLE(Double.BYTES);
+
+        private final int size;
+
+        Key(int size) {
+            this.size = size;
+        }
+    }
+
+    private final int recordSize;
+    private final int keyOffset;
+    private final Key key;
+
+    public RecordSort(int recordSize, int keyOffset, Key key) {
+        if(recordSize <= 0) {
+            throw new IllegalArgumentException("record size must > 0, record size: " + recordSize);
+        }
+        if(keyOffset < 0 || keyOffset + key.size > recordSize) {
+            throw new IllegalArgumentException("key must be inside record, key offset: "
+                    + keyOffset + ", key size: " + key.size + ", record size: " + recordSize);
+        }
+        this.recordSize = recordSize;
+        this.keyOffset = keyOffset;
+        this.key = key;
+    }
+
+    /**
+     * @return indices of records in sorted order, buffer is not modified
+     */
+    public int[] order(ByteBuffer buffer) {
+        int records = records(buffer);
+        int base = buffer.position();
+        long[] keys = new long[records];
+        int[] index = new int[records];
+        for(int i = 0; i < records; i++) {
+            keys[i] = key(buffer, base + i * recordSize + keyOffset);
+            index[i] = i;
+        }
+        Radix.sort(keys, index);
+        return index;
+    }
+
+    /**
+     * sort records of buffer in place
+     */
+    public void sort(ByteBuffer buffer) {
+        int[] index = order(buffer);
+        int base = buffer.position();
+        ByteBuffer from = buffer.duplicate();
+        ByteBuffer to = buffer.duplicate();
+        ByteBuffer scratch = ByteBuffer.allocate(recordSize);
+
+        // same cycle rotation as KeySort.permute, records instead of references
+        for(int i = 0; i < index.length; i++) {
+            if(index[i] == i) {
+                continue;
+            }
+            copy(from, base + i * recordSize, scratch, 0);
+            int j = i;
+            while (true) {
+                int next = index[j];
+                index[j] = j;
+                if(next == i) {
+                    copy(scratch, 0, to, base + j * recordSize);
+                    break;
+                }
+                copy(from, base + next * recordSize, to, base + j * recordSize);
+                j = next;
+            }
+        }
+    }
+
+    /**
+     * write records of src to dst[dst.position()...] in sorted order,
+     * src is not modified, positions of both buffers are not changed
+     * dst is written sequentially, which is faster than sorting in place
+     * when there is room for a second copy
+     */
+    public void sort(ByteBuffer src, ByteBuffer dst) {
+        int[] index = order(src);
+        if(dst.remaining() < index.length * recordSize) {
+            throw new IllegalArgumentException("dst is too small, need: "
+                    + index.length * recordSize + ", remaining: " + dst.remaining());
+        }
+        int base = src.position();
+        int to = dst.position();
+        ByteBuffer from = src.duplicate();
+        ByteBuffer target = dst.duplicate();
+        for(int i = 0; i < index.length; i++) {
+            copy(from, base + index[i] * recordSize, target, to + i * recordSize);
+        }
+    }
+
+    private int records(ByteBuffer buffer) {
+        int remaining = buffer.remaining();
+        if(remaining % recordSize != 0) {
+            throw new IllegalArgumentException("buffer must hold whole records, remaining: "
+                    + remaining + ", record size: " + recordSize);
+        }
+        return remaining / recordSize;
+    }
+
+    /**
+     * key at absolute offset mapped to a long with the same order
+     */
+    private long key(ByteBuffer buffer, int offset) {
+        switch (key) {
+            case INT:
+                return buffer.getInt(offset);
+            case LONG:
+                return buffer.getLong(offset);
+            default:
+                long bits = Double.doubleToLongBits(buffer.getDouble(offset));
+                return bits < 0 ? bits ^ Long.MAX_VALUE : bits;
+        }
+    }
+
+    /**
+     * bulk copy one record, from and to are views whose position and limit are reused
+     */
+    private void copy(ByteBuffer from, int fromOffset, ByteBuffer to, int toOffset) {
+        from.limit(fromOffset + recordSize).position(fromOffset);
+        to.limit(toOffset + recordSize).position(toOffset);
+        to.put(from);
+        // restore limits so next offsets can be anywhere
+        from.limit(from.capacity());
+        to.limit(to.capacity());
+    }
+
+    public static void main(String[] args) {
+        // record: long key, int payload, 4 bytes padding
+        int recordSize = 16;
+        long[] keys = Sort.generateLong(10);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(keys.length * recordSize).order(ByteOrder.nativeOrder());
+        for(int i = 0; i < keys.length; i++) {
+            buffer.putLong(i * recordSize, keys[i]);
+            buffer.putInt(i * recordSize + Long.BYTES, i);
+        }
+        new RecordSort(recordSize, 0, Key.LONG).sort(buffer);
+
+        long[] sorted = new long[keys.length];
+        for(int i = 0; i < keys.length; i++) {
+            sorted[i] = buffer.getLong(i * recordSize);
+        }
+        System.out.println("keys: " + Arrays.toString(sorted));
+        assert  Sort.isOrdered(sorted);
+    }
+}
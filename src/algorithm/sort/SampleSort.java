@@ -0,0 +1,215 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
+
+/**
+ * parallel sample sort
+ * 1. random sample of BUCKETS * OVERSAMPLING elements is sorted,
+ *    every OVERSAMPLING-th sample element becomes a splitter
+ * 2. array is cut into one block per thread, each thread finds the bucket
+ *    of every element in its block by binary search over splitters
+ * 3. each thread scatters its block into its own region of every bucket
+ *    in the auxiliary array, so threads never write the same slot
+ * 4. buckets are sorted concurrently by Intro and copied back
+ * buckets are already in order, so there is no merge phase
+ * equal splitters mean a heavily duplicated key, then splitters are made
+ * distinct and every splitter gets an equality bucket of its own,
+ * holding elements equal to it, which needs no sorting
+ * not stable
+ */
+public class SampleSort {
+
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 15;
+    public static final int BUCKETS_PER_THREAD = 4;
+    public static final int OVERSAMPLING = 32;
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, comparator, ForkJoinPool.commonPool());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> void sort(T[] array, Comparator<T> comparator, ForkJoinPool pool) {
+        int length = array.length;
+        int threads = pool.getParallelism();
+        if(length < SEQUENTIAL_THRESHOLD || threads < 2) {
+            Intro.sort(array, comparator);
+            return;
+        }
+
+        T[] splitters = splitters(array, threads * BUCKETS_PER_THREAD, comparator);
+        int distinct = distinct(splitters, comparator);
+        // bucket 2i + 1 holds elements equal to splitters[i]
+        boolean equality = distinct < splitters.length;
+        T[] search = equality ? Arrays.copyOf(splitters, distinct) : splitters;
+        int buckets = equality ? 2 * distinct + 1 : splitters.length + 1;
+
+        // bucket of every element, so splitters are searched only once
+        int[] bucketOf = new int[length];
+        int blocks = threads;
+        int blockSize = (length + blocks - 1) / blocks;
+        // count[block][bucket], number of elements of a block in a bucket
+        int[][] count = new int[blocks][buckets];
+        forEach(pool, blocks, block -> {
+            int[] counter = count[block];
+            int end = Math.min(length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                int bucket = bucket(search, array[i], comparator, equality);
+                bucketOf[i] = bucket;
+                counter[bucket]++;
+            }
+        });
+
+        // turn counts into start index of each block inside each bucket
+        int[] bucketStart = new int[buckets + 1];
+        int offset = 0;
+        for(int bucket = 0; bucket < buckets; bucket++) {
+            bucketStart[bucket] = offset;
+            for(int block = 0; block < blocks; block++) {
+                int size = count[block][bucket];
+                count[block][bucket] = offset;
+                offset += size;
+            }
+        }
+        bucketStart[buckets] = length;
+
+        // never leaves this class, so an Object array is fine
+        T[] aux = (T[]) new Object[length];
+        forEach(pool, blocks, block -> {
+            int[] next = count[block];
+            int end = Math.min(length, (block + 1) * blockSize);
+            for(int i = block * blockSize; i < end; i++) {
+                aux[next[bucketOf[i]]++] = array[i];
+            }
+        });
+
+        forEach(pool, buckets, bucket -> {
+            int low = bucketStart[bucket];
+            int high = bucketStart[bucket + 1] - 1;
+            if(!equality || bucket % 2 == 0) {
+                Intro.sort(aux, low, high, comparator);
+            }
+            System.arraycopy(aux, low, array, low, high - low + 1);
+        });
+    }
+
+    /**
+     * pick buckets - 1 splitters from a sorted random sample
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] splitters(T[] array, int buckets, Comparator<T> comparator) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        T[] sample = (T[]) new Object[buckets * OVERSAMPLING];
+        for(int i = 0; i < sample.length; i++) {
+            sample[i] = array[random.nextInt(array.length)];
+        }
+        Intro.sort(sample, comparator);
+
+        T[] splitters = (T[]) new Object[buckets - 1];
+        for(int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+        return splitters;
+    }
+
+    /**
+     * move distinct splitters to the front, keeping their order
+     * @return number of distinct splitters
+     */
+    private static <T> int distinct(T[] splitters, Comparator<T> comparator) {
+        int distinct = Math.min(1, splitters.length);
+        for(int i = 1; i < splitters.length; i++) {
+            if(comparator.compare(splitters[i], splitters[distinct - 1]) != 0) {
+                splitters[distinct++] = splitters[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * bucket of item
+     * without equality buckets, index of the first splitter greater than item
+     * with equality buckets, 2 * that index, or 2 * that index - 1
+     * if item is equal to the splitter before it
+     */
+    private static <T> int bucket(T[] splitters, T item, Comparator<T> comparator, boolean equality) {
+        int index = search(splitters, item, comparator);
+        if(!equality) {
+            return index;
+        }
+        return index > 0 && comparator.compare(item, splitters[index - 1]) == 0 ? 2 * index - 1 : 2 * index;
+    }
+
+    /**
+     * index of the first splitter greater than item,
+     * splitters.length if there is no such splitter
+     */
+    private static <T> int search(T[] splitters, T item, Comparator<T> comparator) {
+        int low = 0;
+        int high = splitters.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if(comparator.compare(item, splitters[middle]) < 0) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * run body for every index in [0, count) on pool and wait for all of them
+     */
+    static void forEach(ForkJoinPool pool, int count, IntConsumer body) {
+        pool.invoke(new ForEach(0, count, body));
+    }
+
+    @SuppressWarnings("serial")
+    private static class ForEach extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        ForEach(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from <= 1) {
+                if(from < to) {
+                    body.accept(from);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ForEach(from, middle, body), new ForEach(middle, to, body));
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = Sort.generate(1000000);
+        sort(array, Integer::compareTo);
+        System.out.println("ordered: " + Sort.isOrdered(array, Integer::compareTo));
+        System.out.println("array: " + Arrays.toString(Arrays.copyOf(array, 10)));
+        assert Sort.isOrdered(array, Integer::compareTo);
+
+        // most elements share one key, which fills the equality bucket of that key
+        Integer[] duplicated = Sort.generate(1000000);
+        for(int i = 0; i < duplicated.length; i++) {
+            if(i % 8 != 0) {
+                duplicated[i] = 42;
+            }
+        }
+        sort(duplicated, Integer::compareTo, new ForkJoinPool(4));
+        System.out.println("duplicated ordered: " + Sort.isOrdered(duplicated, Integer::compareTo));
+        assert Sort.isOrdered(duplicated, Integer::compareTo);
+    }
+}
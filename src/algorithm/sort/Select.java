@@ -0,0 +1,210 @@
+package algorithm.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * selection of the k smallest elements without sorting the whole array
+ * select: introselect, quick select with Intro's pivot and partition,
+ *         heap select when partitions are too unbalanced
+ *         N compares on average, N * log(N) in worst case
+ * partialSort: select then sort the first k elements, N + k * log(k)
+ * top: every thread keeps a bounded heap of its k smallest elements,
+ *      heaps are merged pairwise, N * log(k) total work
+ * for the k largest elements pass a reversed comparator
+ */
+public class Select {
+
+    public static final int INSERTION_CUTOFF = 16;
+    public static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    /**
+     * rearrange array so that array[k] is the element that would be there
+     * if array was sorted, array[0...k-1] <= array[k] <= array[k+1...]
+     * @return array[k]
+     */
+    public static <T> T select(T[] array, int k, Comparator<T> comparator) {
+        if(k < 0 || k >= array.length) {
+            throw new IndexOutOfBoundsException(k);
+        }
+        select(array, 0, array.length - 1, k, comparator);
+        return array[k];
+    }
+
+    /**
+     * same as select(array, k, comparator) on array[low...high], low <= k <= high
+     */
+    public static <T> void select(T[] array, int low, int high, int k, Comparator<T> comparator) {
+        int depth = 2 * (31 - Integer.numberOfLeadingZeros(Math.max(1, high - low + 1)));
+        while (high - low >= INSERTION_CUTOFF) {
+            if(depth-- == 0) {
+                heapSelect(array, low, high, k, comparator);
+                return;
+            }
+
+            Intro.pivot(array, low, high, comparator);
+            int j = Intro.partition(array, low, high, comparator);
+            // only the part containing k is left to be partitioned
+            if(j == k) {
+                return;
+            } else if(j < k) {
+                low = j + 1;
+            } else {
+                high = j - 1;
+            }
+        }
+        Insertion.sort(array, low, high, comparator);
+    }
+
+    /**
+     * sort k smallest elements into array[0...k-1],
+     * order of the rest of array is unspecified
+     */
+    public static <T> void partialSort(T[] array, int k, Comparator<T> comparator) {
+        if(k <= 0) {
+            return;
+        }
+        if(k >= array.length) {
+            Intro.sort(array, comparator);
+            return;
+        }
+        select(array, 0, array.length - 1, k - 1, comparator);
+        // array[k - 1] is already in place
+        Intro.sort(array, 0, k - 2, comparator);
+    }
+
+    /**
+     * k smallest elements of array in ascending order, array is not modified
+     * array is scanned in parallel on the common fork join pool
+     * @return new array of min(k, array.length) elements
+     */
+    public static <T> T[] top(T[] array, int k, Comparator<T> comparator) {
+        return top(array, k, comparator, ForkJoinPool.commonPool());
+    }
+
+    public static <T> T[] top(T[] array, int k, Comparator<T> comparator, ForkJoinPool pool) {
+        if(k < 0) {
+            throw new IllegalArgumentException("k must >= 0, k: " + k);
+        }
+        int capacity = Math.min(k, array.length);
+        if(capacity == 0) {
+            return Arrays.copyOf(array, 0);
+        }
+
+        TopTask<T> task = new TopTask<>(array, 0, array.length - 1, capacity, comparator);
+        BoundedHeap<T> heap = array.length <= SEQUENTIAL_THRESHOLD ? task.compute() : pool.invoke(task);
+
+        T[] tops = Arrays.copyOf(array, heap.size);
+        System.arraycopy(heap.elements, 0, tops, 0, heap.size);
+        Intro.sort(tops, comparator);
+        return tops;
+    }
+
+    /**
+     * libstdc++ style heap select
+     * keep a max heap of the k - low + 1 smallest elements in array[low...k],
+     * then move heap top to array[k]
+     */
+    private static <T> void heapSelect(T[] array, int low, int high, int k, Comparator<T> comparator) {
+        int size = k - low + 1;
+        for(int i = size / 2 - 1; i >= 0; i--) {
+            Heap.sink(array, low, i, size, comparator);
+        }
+        for(int i = k + 1; i <= high; i++) {
+            if(comparator.compare(array[i], array[low]) < 0) {
+                Sort.exchange(array, i, low);
+                Heap.sink(array, low, 0, size, comparator);
+            }
+        }
+        Sort.exchange(array, low, k);
+    }
+
+    /**
+     * max heap that keeps at most capacity smallest elements offered to it
+     */
+    private static class BoundedHeap<T> {
+        private final T[] elements;
+        private final Comparator<T> comparator;
+        private int size = 0;
+
+        @SuppressWarnings("unchecked")
+        BoundedHeap(int capacity, Comparator<T> comparator) {
+            // never leaves this class, so an Object array is fine
+            this.elements = (T[]) new Object[capacity];
+            this.comparator = comparator;
+        }
+
+        void offer(T item) {
+            if(size < elements.length) {
+                // swim new element up
+                int k = size++;
+                while (k > 0) {
+                    int parent = (k - 1) / 2;
+                    if(comparator.compare(elements[parent], item) >= 0) {
+                        break;
+                    }
+                    elements[k] = elements[parent];
+                    k = parent;
+                }
+                elements[k] = item;
+            } else if(comparator.compare(item, elements[0]) < 0) {
+                // replace largest element
+                elements[0] = item;
+                Heap.sink(elements, 0, 0, size, comparator);
+            }
+        }
+
+        void offerAll(BoundedHeap<T> that) {
+            for(int i = 0; i < that.size; i++) {
+                offer(that.elements[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class TopTask<T> extends RecursiveTask<BoundedHeap<T>> {
+        private final T[] array;
+        private final int low;
+        private final int high;
+        private final int capacity;
+        private final Comparator<T> comparator;
+
+        TopTask(T[] array, int low, int high, int capacity, Comparator<T> comparator) {
+            this.array = array;
+            this.low = low;
+            this.high = high;
+            this.capacity = capacity;
+            this.comparator = comparator;
+        }
+
+        @Override
+        protected BoundedHeap<T> compute() {
+            if(high - low < SEQUENTIAL_THRESHOLD) {
+                BoundedHeap<T> heap = new BoundedHeap<>(capacity, comparator);
+                for(int i = low; i <= high; i++) {
+                    heap.offer(array[i]);
+                }
+                return heap;
+            }
+
+            int middle = low + (high - low) / 2;
+            TopTask<T> left = new TopTask<>(array, low, middle, capacity, comparator);
+            left.fork();
+            BoundedHeap<T> right = new TopTask<>(array, middle + 1, high, capacity, comparator).compute();
+            BoundedHeap<T> heap = left.join();
+            heap.offerAll(right);
+            return heap;
+        }
+    }
+
+    public static void main(String[] args) {
+        Integer[] array = Sort.generate(100000);
+        Integer[] tops = top(array, 10, Comparator.reverseOrder());
+        System.out.println("top 10: " + Arrays.toString(tops));
+        partialSort(array, 10, Comparator.reverseOrder());
+        System.out.println("partial sort: " + Arrays.toString(Arrays.copyOf(array, 10)));
+        System.out.println("median: " + select(array, array.length / 2, Integer::compareTo));
+    }
+}
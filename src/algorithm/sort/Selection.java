@@ -29,6 +29,50 @@ public class Selection implements Sort {
     }
 
 
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        int length = array.length;
+
+        for(int i = 0; i < length; i++) {
+            int min = i;
+            for(int j = i + 1; j < length; j++) {
+                if(array[j] < array[min]) {
+                    min = j;
+                }
+            }
+            Sort.exchange(array, min, i);
+        }
+    }
+
+    public static void sort(long[] array) {
+        int length = array.length;
+
+        for(int i = 0; i < length; i++) {
+            int min = i;
+            for(int j = i + 1; j < length; j++) {
+                if(array[j] < array[min]) {
+                    min = j;
+                }
+            }
+            Sort.exchange(array, min, i);
+        }
+    }
+
+    public static void sort(double[] array) {
+        int length = array.length;
+
+        for(int i = 0; i < length; i++) {
+            int min = i;
+            for(int j = i + 1; j < length; j++) {
+                if(Double.compare(array[j], array[min]) < 0) {
+                    min = j;
+                }
+            }
+            Sort.exchange(array, min, i);
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] array = Sort.generate(10);
         sort(array, Integer::compareTo);
@@ -17,6 +17,9 @@ public class Shell {
         while (step >= 1) {
 
             // System.out.println("Round: " + step);
+            if(Instrument.ENABLED) {
+                Instrument.phase("step " + step);
+            }
 
             for(int i = step; i < array.length; i++) {
 
@@ -27,10 +30,16 @@ public class Shell {
                 int j = i;
                 for(j = i; j >= step; j -= step) {
                     // insert key into array[i - step] array[i - 2*step] ...
+                    if(Instrument.ENABLED) {
+                        Instrument.compare();
+                    }
                     if(comparator.compare(key, array[j - step]) < 0) {
                         // key is less than array[j - step]
 
                         // move bigger element forward
+                        if(Instrument.ENABLED) {
+                            Instrument.move(1);
+                        }
                         array[j] = array[j - step];
                     } else {
                         // hit the break
@@ -46,6 +55,83 @@ public class Shell {
     }
 
 
+    // primitive specializations, no boxing
+
+    public static void sort(int[] array) {
+        int step = 1;
+
+        while(step < array.length / 3) {
+            step = 3 * step + 1;
+        }
+
+        while (step >= 1) {
+            for(int i = step; i < array.length; i++) {
+                int key = array[i];
+                int j;
+                for(j = i; j >= step; j -= step) {
+                    if(key < array[j - step]) {
+                        array[j] = array[j - step];
+                    } else {
+                        break;
+                    }
+                }
+                array[j] = key;
+            }
+
+            step = step / 3;
+        }
+    }
+
+    public static void sort(long[] array) {
+        int step = 1;
+
+        while(step < array.length / 3) {
+            step = 3 * step + 1;
+        }
+
+        while (step >= 1) {
+            for(int i = step; i < array.length; i++) {
+                long key = array[i];
+                int j;
+                for(j = i; j >= step; j -= step) {
+                    if(key < array[j - step]) {
+                        array[j] = array[j - step];
+                    } else {
+                        break;
+                    }
+                }
+                array[j] = key;
+            }
+
+            step = step / 3;
+        }
+    }
+
+    public static void sort(double[] array) {
+        int step = 1;
+
+        while(step < array.length / 3) {
+            step = 3 * step + 1;
+        }
+
+        while (step >= 1) {
+            for(int i = step; i < array.length; i++) {
+                double key = array[i];
+                int j;
+                for(j = i; j >= step; j -= step) {
+                    if(Double.compare(key, array[j - step]) < 0) {
+                        array[j] = array[j - step];
+                    } else {
+                        break;
+                    }
+                }
+                array[j] = key;
+            }
+
+            step = step / 3;
+        }
+    }
+
     public static void main(String[] args) {
         Integer[] array = Sort.generate(15);
         sort(array, Integer::compareTo);
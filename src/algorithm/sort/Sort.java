@@ -5,8 +5,22 @@ import java.util.Random;
 
 public interface Sort {
 
+    /**
+     * default sort engine
+     * stable, runs on the common fork join pool
+     * @see ParallelMerge
+     */
     public static <T> void sort(T[] array, Comparator<T> comparator) {
+        ParallelMerge.sort(array, comparator);
+    }
 
+    /**
+     * stable sort, equal elements keep their relative order
+     * unlike sort, this is guaranteed whatever the default engine is
+     * @see Stable
+     */
+    public static <T> void stableSort(T[] array, Comparator<T> comparator) {
+        Stable.sort(array, comparator);
     }
 
     public static <T> boolean less(T a, T b, Comparator<T> comparator) {
@@ -19,6 +33,24 @@ public interface Sort {
         array[b] = temp;
     }
 
+    public static void exchange(int[] array, int a, int b) {
+        int temp = array[a];
+        array[a] = array[b];
+        array[b] = temp;
+    }
+
+    public static void exchange(long[] array, int a, int b) {
+        long temp = array[a];
+        array[a] = array[b];
+        array[b] = temp;
+    }
+
+    public static void exchange(double[] array, int a, int b) {
+        double temp = array[a];
+        array[a] = array[b];
+        array[b] = temp;
+    }
+
     public static <T> boolean isOrdered(T[] array, Comparator<T> comparator) {
         if(array.length < 3) {
             return true;
@@ -40,6 +72,42 @@ public interface Sort {
         return true;
     }
 
+    /**
+     * check if array is in ascending order
+     */
+    public static boolean isOrdered(int[] array) {
+        for(int i = 1; i < array.length; i++) {
+            if(array[i] < array[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * check if array is in ascending order
+     */
+    public static boolean isOrdered(long[] array) {
+        for(int i = 1; i < array.length; i++) {
+            if(array[i] < array[i - 1]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * check if array is in ascending order
+     */
+    public static boolean isOrdered(double[] array) {
+        for(int i = 1; i < array.length; i++) {
+            if(Double.compare(array[i], array[i - 1]) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static Integer[] generate(int size) {
         Random random = new Random();
         Integer[] randoms = new Integer[size];
@@ -49,4 +117,31 @@ public interface Sort {
         return randoms;
     }
 
+    public static int[] generateInt(int size) {
+        Random random = new Random();
+        int[] randoms = new int[size];
+        for(int i = 0; i < size; i++) {
+            randoms[i] = random.nextInt(100);
+        }
+        return randoms;
+    }
+
+    public static long[] generateLong(int size) {
+        Random random = new Random();
+        long[] randoms = new long[size];
+        for(int i = 0; i < size; i++) {
+            randoms[i] = random.nextInt(100);
+        }
+        return randoms;
+    }
+
+    public static double[] generateDouble(int size) {
+        Random random = new Random();
+        double[] randoms = new double[size];
+        for(int i = 0; i < size; i++) {
+            randoms[i] = random.nextDouble() * 100;
+        }
+        return randoms;
+    }
+
 }
@@ -0,0 +1,142 @@
+package algorithm.sort;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * stable sort, equal elements keep their relative order
+ *
+ * stable:     Insertion, Merge, MergeBU, NaturalMerge, ParallelMerge,
+ *             InPlaceMerge, Radix, Counting, KeySort, ColumnSort, ExternalMerge, Stable
+ * not stable: Selection, Shell, Heap, Quick, Quick3Way, Intro,
+ *             SampleSort, Adaptive, MSD, Quick3String
+ *
+ * a strided sample of the array decides the engine
+ * few distinct keys: stable three way quick sort,
+ *                    elements are partitioned into less, equal and greater
+ *                    through an auxiliary array without changing their order,
+ *                    equal part is final, so D distinct keys cost N * log(D)
+ * otherwise:         NaturalMerge, or ParallelMerge for large arrays
+ *                    when the pool has more than one thread
+ */
+public class Stable implements Sort {
+
+    public static final int INSERTION_CUTOFF = 16;
+    public static final int SAMPLE_SIZE = 128;
+    public static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        sort(array, comparator, ForkJoinPool.commonPool());
+    }
+
+    public static <T> void sort(T[] array, Comparator<T> comparator, ForkJoinPool pool) {
+        int length = array.length;
+        if(length < SAMPLE_SIZE) {
+            Insertion.sort(array, comparator);
+            return;
+        }
+
+        if(isDuplicated(array, comparator)) {
+            sort(array, new Object[length], new byte[length], 0, length - 1,
+                    2 * (31 - Integer.numberOfLeadingZeros(length)), comparator);
+        } else if(length >= PARALLEL_THRESHOLD && pool.getParallelism() > 1) {
+            ParallelMerge.sort(array, comparator, pool);
+        } else {
+            NaturalMerge.sort(array, comparator);
+        }
+    }
+
+    /**
+     * estimate duplicate ratio from SAMPLE_SIZE elements taken at equal strides
+     * @return true if at most half of the sample are distinct keys
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> boolean isDuplicated(T[] array, Comparator<T> comparator) {
+        T[] sample = (T[]) new Object[SAMPLE_SIZE];
+        int stride = array.length / SAMPLE_SIZE;
+        for(int i = 0; i < SAMPLE_SIZE; i++) {
+            sample[i] = array[i * stride];
+        }
+        Intro.sort(sample, comparator);
+
+        int distinct = 1;
+        for(int i = 1; i < SAMPLE_SIZE; i++) {
+            if(comparator.compare(sample[i - 1], sample[i]) != 0) {
+                distinct++;
+            }
+        }
+        return distinct <= SAMPLE_SIZE / 2;
+    }
+
+    /**
+     * stable three way quick sort of array[low...high]
+     * side[i] remembers which part array[i] belongs to,
+     * so each element is compared with the pivot only once per partition
+     */
+    private static <T> void sort(T[] array,
+                                 Object[] aux,
+                                 byte[] side,
+                                 int low,
+                                 int high,
+                                 int depth,
+                                 Comparator<T> comparator) {
+        while (high - low >= INSERTION_CUTOFF) {
+            if(depth-- == 0) {
+                // partitions are too unbalanced
+                NaturalMerge.sort(array, low, high, comparator);
+                return;
+            }
+
+            T pivot = array[Intro.median(array, low, low + (high - low) / 2, high, comparator)];
+            int less = 0;
+            int equal = 0;
+            for(int i = low; i <= high; i++) {
+                int cmp = comparator.compare(array[i], pivot);
+                if(cmp < 0) {
+                    side[i] = 0;
+                    less++;
+                } else if(cmp == 0) {
+                    side[i] = 1;
+                    equal++;
+                } else {
+                    side[i] = 2;
+                }
+            }
+
+            // scatter in original order
+            // array[low...lessEnd - 1] < pivot = array[lessEnd...equalEnd - 1] < array[equalEnd...high]
+            int lessEnd = low + less;
+            int equalEnd = lessEnd + equal;
+            int[] next = {low, lessEnd, equalEnd};
+            for(int i = low; i <= high; i++) {
+                aux[next[side[i]]++] = array[i];
+            }
+            System.arraycopy(aux, low, array, low, high - low + 1);
+
+            // recurse into smaller part and loop on larger part
+            if(lessEnd - low < high - equalEnd + 1) {
+                sort(array, aux, side, low, lessEnd - 1, depth, comparator);
+                low = equalEnd;
+            } else {
+                sort(array, aux, side, equalEnd, high, depth, comparator);
+                high = lessEnd - 1;
+            }
+        }
+        Insertion.sort(array, low, high, comparator);
+    }
+
+    public static void main(String[] args) {
+        Integer[][] array = new Integer[100000][];
+        for(int i = 0; i < array.length; i++) {
+            array[i] = new Integer[]{i % 7, i};
+        }
+        sort(array, (a, b) -> Integer.compare(a[0], b[0]));
+        boolean stable = true;
+        for(int i = 1; i < array.length; i++) {
+            if(array[i - 1][0].equals(array[i][0]) && array[i - 1][1] > array[i][1]) {
+                stable = false;
+            }
+        }
+        System.out.println("stable: " + stable);
+    }
+}
@@ -1,17 +1,19 @@
 package datastructure.linear.playground.sparse_array;
 
+import algorithm.sort.Select;
+
 import java.util.*;
 
 public class TopCommonCounter {
 
     /**
      * first use hash map store frequency
-     * then using quick sort sort key value pair in hashmap by value
-     * then slice top n from stored array
+     * then select top n key value pairs by value with quick select
+     * then sort only these n pairs
      * @param array input array to count frequency
      * @param topN number of top
      * @param <T> type
-     * @return sorted frequency
+     * @return top n pairs sorted by frequency, most frequent first
      */
     public static <T> List<Map.Entry<T, Integer>>
         countTopNRepeatedHashMap(ArrayList<T> array, int topN) {
@@ -19,20 +21,17 @@ public class TopCommonCounter {
         HashMap<T, Integer> counter = new HashMap<>();
         // count frequency for each key
         // linear time complexity o(n)
-        array.forEach(item -> {
-            int frequency = counter.getOrDefault(item, 1);
-            counter.put(item, frequency);
-        });
-        // obtain key value pair
-        Set<Map.Entry<T, Integer>> pairs = counter.entrySet();
+        array.forEach(item -> counter.merge(item, 1, Integer::sum));
 
-        // time complexity o(n log(n))
-        // quick sort
-        ArrayList<Map.Entry<T, Integer>> pairArray = new ArrayList<>(pairs);
-
-        // slice array to topn
-        pairArray.sort((a, b) -> a.getValue() - b.getValue());
-        return pairArray.subList(0, Math.min(topN, array.size()));
+        // obtain key value pair
+        @SuppressWarnings("unchecked")
+        Map.Entry<T, Integer>[] pairs = (Map.Entry<T, Integer>[]) counter.entrySet().toArray(new Map.Entry<?, ?>[0]);
+
+        // time complexity o(n + topn log(topn))
+        // quick select then sort top n
+        int size = Math.min(topN, pairs.length);
+        Select.partialSort(pairs, size, (a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        return Arrays.asList(Arrays.copyOf(pairs, size));
     }
 
     public static <T> PriorityQueue<Map.Entry<T, Integer>>
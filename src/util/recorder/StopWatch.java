@@ -25,6 +25,7 @@ public class StopWatch {
             return;
         }
         end = start = System.nanoTime();
+        isWatching = true;
         counter++;
         current = new Record(start, description);
     }
@@ -35,7 +36,8 @@ public class StopWatch {
         }
         end = System.nanoTime();
         isWatching = false;
-        current.duration = start - end;
+        current.duration = end - start;
+        records.put(current, current.duration);
         return current;
     }
 